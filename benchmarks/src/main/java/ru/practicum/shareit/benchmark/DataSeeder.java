@@ -0,0 +1,101 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class DataSeeder {
+    private static final int BATCH_SIZE = 10_000;
+    private static final String[] NAMES = {"Дрель", "Отвертка", "Пила", "Лестница", "Палатка", "Велосипед",
+        "Drill", "Saw", "Ladder", "Tent", "Bicycle", "Projector", "Camera", "Kayak", "Sander"};
+    private static final String[] ADJECTIVES = {"аккумуляторная", "простая", "складная", "cordless", "compact",
+        "heavy", "portable", "professional", "old", "new"};
+    private static final String[] STATUSES = {"APPROVED", "APPROVED", "APPROVED", "WAITING", "REJECTED", "CANCELED"};
+    private static final String[] TABLES = {"users", "requests", "items", "bookings", "comments"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random = new Random(42);
+
+    public DataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void seed(int users, int items, int bookings) {
+        int requests = Math.max(1, items / 10);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= users; i++) {
+            rows.add(new Object[]{"user" + i, "user" + i + "@example.com"});
+            flushIfFull("insert into users (name, email) values (?, ?)", rows);
+        }
+        flushAll("insert into users (name, email) values (?, ?)", rows);
+
+        for (int i = 1; i <= requests; i++) {
+            rows.add(new Object[]{"Нужен " + pick(NAMES), 1 + random.nextInt(users),
+                Timestamp.valueOf(now.minusDays(random.nextInt(365)))});
+            flushIfFull("insert into requests (description, requestor_id, created) values (?, ?, ?)", rows);
+        }
+        flushAll("insert into requests (description, requestor_id, created) values (?, ?, ?)", rows);
+
+        int[] owners = new int[items + 1];
+        for (int i = 1; i <= items; i++) {
+            owners[i] = i % 10 == 0 ? (int) ShareItContext.POWER_OWNER_ID : 2 + random.nextInt(users - 1);
+            Integer requestId = random.nextInt(10) == 0 ? 1 + random.nextInt(requests) : null;
+            rows.add(new Object[]{pick(NAMES) + " " + i, pick(ADJECTIVES) + " " + pick(NAMES).toLowerCase(),
+                random.nextInt(10) != 0, owners[i], requestId});
+            flushIfFull("insert into items (name, description, is_available, owner_id, request_id) "
+                    + "values (?, ?, ?, ?, ?)", rows);
+        }
+        flushAll("insert into items (name, description, is_available, owner_id, request_id) "
+                + "values (?, ?, ?, ?, ?)", rows);
+
+        for (int i = 1; i <= bookings; i++) {
+            int itemId = 1 + random.nextInt(items);
+            int bookerId = 1 + random.nextInt(users);
+            if (bookerId == owners[itemId]) {
+                bookerId = bookerId % users + 1;
+            }
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 730) - 24 * 365);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusDays(1 + random.nextInt(14))),
+                itemId, owners[itemId], bookerId, pick(STATUSES)});
+            flushIfFull("insert into bookings (start_date, end_date, item_id, item_owner_id, booker_id, status) "
+                    + "values (?, ?, ?, ?, ?, ?)", rows);
+        }
+        flushAll("insert into bookings (start_date, end_date, item_id, item_owner_id, booker_id, status) "
+                + "values (?, ?, ?, ?, ?, ?)", rows);
+
+        for (int i = 1; i <= items; i++) {
+            rows.add(new Object[]{"Отличная вещь " + i, 1 + random.nextInt(items), 1 + random.nextInt(users),
+                Timestamp.valueOf(now.minusDays(random.nextInt(365)))});
+            flushIfFull("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)", rows);
+        }
+        flushAll("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)", rows);
+
+        for (String table : TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            jdbcTemplate.execute("alter sequence " + table + "_seq restart with " + (maxId + 1));
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= BATCH_SIZE) {
+            flushAll(sql, rows);
+        }
+    }
+
+    private void flushAll(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
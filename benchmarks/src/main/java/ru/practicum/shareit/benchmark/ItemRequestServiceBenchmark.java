@@ -0,0 +1,34 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemRequestServiceBenchmark {
+    @Benchmark
+    public List<ItemRequestDto> getAllByRequestor(ShareItContext context) {
+        return context.getBean(ItemRequestService.class).getAllByRequestor(ShareItContext.POWER_OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> getAllByRequestorPage(ShareItContext context) {
+        return context.getBean(ItemRequestService.class).getAllByRequestor(ShareItContext.POWER_OWNER_ID, 0, 50);
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassthroughBenchmark {
+    private static final String PATH = "/bookings/owner?state=ALL&from=0&size=10";
+
+    @Param({"10", "100", "1000"})
+    public int bookings;
+
+    private final MappingJackson2HttpMessageConverter jsonConverter = new MappingJackson2HttpMessageConverter();
+    private final ByteArrayHttpMessageConverter byteArrayConverter = new ByteArrayHttpMessageConverter();
+    private RestTemplate rest;
+    private PassthroughClient client;
+    private HttpEntity<Void> requestEntity;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] page = new ObjectMapper().writeValueAsBytes(bookingsPage(bookings));
+        rest = new RestTemplateBuilder()
+                .rootUri("http://shareit-server")
+                .requestFactory(() -> new StubClientHttpRequestFactory(page))
+                .build();
+        client = new PassthroughClient(rest);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", "1");
+        requestEntity = new HttpEntity<>(headers);
+    }
+
+    @Benchmark
+    public void parseAndSerialize() throws IOException {
+        ResponseEntity<Object> response = rest.exchange(PATH, HttpMethod.GET, requestEntity, Object.class);
+        jsonConverter.write(response.getBody(), MediaType.APPLICATION_JSON, new DiscardingOutputMessage());
+    }
+
+    @Benchmark
+    public void passthrough() throws IOException {
+        ResponseEntity<Object> response = client.getBookings();
+        byteArrayConverter.write((byte[]) response.getBody(), MediaType.APPLICATION_JSON,
+                new DiscardingOutputMessage());
+    }
+
+    private static List<Map<String, Object>> bookingsPage(int size) {
+        List<Map<String, Object>> page = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            Map<String, Object> booker = new LinkedHashMap<>();
+            booker.put("id", i % 50 + 2);
+            booker.put("name", "user" + (i % 50 + 2));
+            booker.put("email", "user" + (i % 50 + 2) + "@example.com");
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", i);
+            item.put("name", "Дрель " + i);
+            item.put("description", "Аккумуляторная дрель с набором бит");
+            item.put("available", true);
+            item.put("requestId", null);
+            Map<String, Object> booking = new LinkedHashMap<>();
+            booking.put("id", i);
+            booking.put("start", "2023-04-01T10:00:00");
+            booking.put("end", "2023-04-02T10:00:00");
+            booking.put("status", "APPROVED");
+            booking.put("booker", booker);
+            booking.put("item", item);
+            page.add(booking);
+        }
+        return page;
+    }
+
+    private static class PassthroughClient extends BaseClient {
+        private PassthroughClient(RestTemplate rest) {
+            super(rest);
+        }
+
+        private ResponseEntity<Object> getBookings() {
+            return get(PATH, 1L, null);
+        }
+    }
+
+    private static class DiscardingOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+
+        @Override
+        public OutputStream getBody() {
+            return OutputStream.nullOutputStream();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
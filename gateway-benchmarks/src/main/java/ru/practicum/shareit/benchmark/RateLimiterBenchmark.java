@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.ratelimit.EndpointClass;
+import ru.practicum.shareit.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.ratelimit.ServerHealthTracker;
+import ru.practicum.shareit.ratelimit.TokenBucketRateLimiter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+    @Param({"1", "1000", "100000"})
+    public int users;
+
+    private TokenBucketRateLimiter rateLimiter;
+    private ServerHealthTracker serverHealthTracker;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(1_000_000, 1_000_000));
+        rateLimiter = new TokenBucketRateLimiter(properties);
+        serverHealthTracker = new ServerHealthTracker(properties);
+    }
+
+    @Benchmark
+    public long baseline() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(users), EndpointClass.READ);
+    }
+
+    @Benchmark
+    public boolean admit() {
+        return !serverHealthTracker.isDegraded()
+                && rateLimiter.tryAcquire(ThreadLocalRandom.current().nextInt(users), EndpointClass.READ) == 0;
+    }
+
+    @Benchmark
+    public void recordServerCall() {
+        serverHealthTracker.record(1_000_000, false);
+    }
+}
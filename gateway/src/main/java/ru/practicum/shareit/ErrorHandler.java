@@ -1,10 +1,12 @@
 package ru.practicum.shareit;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
 
 @RestControllerAdvice
@@ -17,6 +19,20 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse taskRejectedHandler(final TaskRejectedException e) {
+        log.warn("503: {}", e.getMessage());
+        return new ErrorResponse("Gateway is overloaded");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ErrorResponse resourceAccessHandler(final ResourceAccessException e) {
+        log.warn("504: {}", e.getMessage());
+        return new ErrorResponse("ShareIt server is unavailable");
+    }
+
     private class ErrorResponse {
         String error;
 
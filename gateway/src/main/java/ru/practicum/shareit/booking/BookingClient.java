@@ -4,26 +4,34 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ClientHttpRequestFactory shareItServerRequestFactory, Executor shareItServerExecutor) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> shareItServerRequestFactory)
+                        .build(),
+                shareItServerExecutor
         );
     }
 
@@ -38,25 +46,52 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBookingById(long userId, Long bookingId) {
-        return get("/" + bookingId, userId);
+    public ResponseEntity<Object> saveBookings(long userId, List<BookingDto> bookingDtos) {
+        return post("/batch", userId, bookingDtos);
     }
 
-    public ResponseEntity<Object> getBookingsByBooker(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> updateBookings(long userId, List<Long> bookingIds, String approved) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
+                "approved", approved
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return patch("/approve?approved={approved}", userId, parameters, bookingIds);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(long userId, Long bookingId) {
+        return getAsync("/" + bookingId, userId);
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByBooker(long userId, BookingState state,
+                                                                         Integer from, Integer size, String cursor) {
+        return getAsync(pagePath("", cursor), userId, pageParameters(state, from, size, cursor));
+    }
+
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(long userId, BookingState state,
+                                                                        Integer from, Integer size, String cursor) {
+        return getAsync(pagePath("/owner", cursor), userId, pageParameters(state, from, size, cursor));
+    }
+
+    public void exportBookingsByBooker(long userId, HttpServletResponse response) throws IOException {
+        stream("/export", userId, response);
+    }
+
+    public void exportBookingsByOwner(long userId, HttpServletResponse response) throws IOException {
+        stream("/owner/export", userId, response);
+    }
+
+    private static String pagePath(String path, String cursor) {
+        String pagePath = path + "?state={state}&from={from}&size={size}";
+        return cursor != null ? pagePath + "&cursor={cursor}" : pagePath;
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 }
@@ -10,9 +10,16 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.exception.UnsupportedStatusException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -37,32 +44,65 @@ public class BookingController {
         return bookingClient.updateBooking(bookingId, userId, approved);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> saveBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestBody @NotEmpty @Size(max = 100)
+                                               List<@Valid BookingDto> bookingDtos) {
+        log.info("Creating {} bookings, userId={}", bookingDtos.size(), userId);
+        return bookingClient.saveBookings(userId, bookingDtos);
+    }
+
+    @PatchMapping("/approve")
+    public ResponseEntity<Object> updateBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestParam String approved,
+                                                 @RequestBody @NotEmpty @Size(max = 100)
+                                                 List<@NotNull Long> bookingIds) {
+        log.info("Updating bookings {}, userId={}, approved={}", bookingIds, userId, approved);
+        return bookingClient.updateBookings(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                 @PathVariable Long bookingId) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                    @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                         @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                                         @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByBooker(userId, state, from, size);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsByBooker(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+    public CompletableFuture<ResponseEntity<Object>> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                        @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                        @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                                        @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                                        @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new UnsupportedStatusException("Unknown state: " + stateParam));
-        log.info("Get bookings with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByOwner(userId, state, from, size);
+        log.info("Get bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsByOwner(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/export")
+    public void exportBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
+                                       HttpServletResponse response) throws IOException {
+        log.info("Export bookings, userId={}", userId);
+        bookingClient.exportBookingsByBooker(userId, response);
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                      HttpServletResponse response) throws IOException {
+        log.info("Export owner bookings, userId={}", userId);
+        bookingClient.exportBookingsByOwner(userId, response);
     }
 }
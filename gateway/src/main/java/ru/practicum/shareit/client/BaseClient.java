@@ -1,7 +1,15 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -9,14 +17,27 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 public class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "proxy-authenticate",
+            "proxy-authorization", "te", "trailer", "transfer-encoding", "upgrade", "content-length");
+
     protected final RestTemplate rest;
+    private final Executor executor;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, Runnable::run);
+    }
+
+    public BaseClient(RestTemplate rest, Executor executor) {
         this.rest = rest;
+        this.executor = executor;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -28,7 +49,46 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return get(path, userId, parameters, incomingIfNoneMatch());
+    }
+
+    private ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters,
+                                       @Nullable String ifNoneMatch) {
+        HttpHeaders headers = defaultHeaders(userId);
+        if (ifNoneMatch != null) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return makeAndSendRequest(HttpMethod.GET, path, headers, parameters, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path) {
+        return getAsync(path, null, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path, long userId) {
+        return getAsync(path, userId, null);
+    }
+
+    protected CompletableFuture<ResponseEntity<Object>> getAsync(String path, Long userId,
+                                                                 @Nullable Map<String, Object> parameters) {
+        String ifNoneMatch = incomingIfNoneMatch();
+        return CompletableFuture.supplyAsync(() -> get(path, userId, parameters, ifNoneMatch), executor);
+    }
+
+    protected void stream(String path, long userId, HttpServletResponse servletResponse) throws IOException {
+        try {
+            rest.execute(path, HttpMethod.GET, request -> {
+                request.getHeaders().putAll(defaultHeaders(userId));
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+            }, response -> {
+                copyStatusAndHeaders(response.getRawStatusCode(), response.getHeaders(), servletResponse);
+                StreamUtils.copy(response.getBody(), servletResponse.getOutputStream());
+                return null;
+            });
+        } catch (HttpStatusCodeException e) {
+            copyStatusAndHeaders(e.getRawStatusCode(), e.getResponseHeaders(), servletResponse);
+            servletResponse.getOutputStream().write(e.getResponseBodyAsByteArray());
+        }
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -40,7 +100,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, defaultHeaders(userId), parameters, body);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -48,7 +108,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, defaultHeaders(userId), parameters, body);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -64,7 +124,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, defaultHeaders(userId), parameters, body);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -76,21 +136,23 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, defaultHeaders(userId), parameters, null);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, HttpHeaders headers, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return ResponseEntity.status(e.getStatusCode())
+                    .headers(passthroughHeaders(e.getResponseHeaders()))
+                    .body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -105,12 +167,19 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    @Nullable
+    private static String incomingIfNoneMatch() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
         }
+        HttpServletRequest request = ((ServletRequestAttributes) attributes).getRequest();
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH);
+    }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode())
+                .headers(passthroughHeaders(response.getHeaders()));
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -118,4 +187,23 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
+
+    private static void copyStatusAndHeaders(int status, @Nullable HttpHeaders headers,
+                                             HttpServletResponse servletResponse) {
+        servletResponse.setStatus(status);
+        passthroughHeaders(headers).forEach((name, values) -> values.forEach(
+                value -> servletResponse.addHeader(name, value)));
+    }
+
+    private static HttpHeaders passthroughHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders passthroughHeaders = new HttpHeaders();
+        if (headers != null) {
+            headers.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    passthroughHeaders.addAll(name, values);
+                }
+            });
+        }
+        return passthroughHeaders;
+    }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class BufferedResponse {
+    private final HttpStatus status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private BufferedResponse(HttpStatus status, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public static BufferedResponse of(ClientHttpResponse response) throws IOException {
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            return new BufferedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers),
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    public BufferedResponse notModified() {
+        HttpHeaders notModifiedHeaders = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                notModifiedHeaders.addAll(name, values);
+            }
+        });
+        return new BufferedResponse(HttpStatus.NOT_MODIFIED, HttpHeaders.readOnlyHttpHeaders(notModifiedHeaders),
+                new byte[0]);
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public ClientHttpResponse toResponse() {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatus getStatusCode() {
+                return status;
+            }
+
+            @Override
+            public int getRawStatusCode() {
+                return status.value();
+            }
+
+            @Override
+            public String getStatusText() {
+                return status.getReasonPhrase();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
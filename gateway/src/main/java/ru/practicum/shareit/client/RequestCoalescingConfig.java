@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-server.coalescing", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class RequestCoalescingConfig {
+    @Bean
+    public RequestCoalescingInterceptor requestCoalescingInterceptor(
+            @Value("${shareit-server.coalescing.max-wait:2s}") Duration maxWait, MeterRegistry meterRegistry) {
+        return new RequestCoalescingInterceptor(maxWait, meterRegistry);
+    }
+
+    @Bean
+    @Order(2)
+    public RestTemplateCustomizer requestCoalescingCustomizer(RequestCoalescingInterceptor requestCoalescingInterceptor) {
+        return restTemplate -> restTemplate.getInterceptors().add(requestCoalescingInterceptor);
+    }
+}
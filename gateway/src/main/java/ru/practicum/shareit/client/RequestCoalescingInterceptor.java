@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class RequestCoalescingInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final Duration maxWait;
+    private final Map<String, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter collapsed;
+    private final Counter timedOut;
+
+    public RequestCoalescingInterceptor(Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.collapsed = meterRegistry.counter("gateway.requests.coalesced");
+        this.timedOut = meterRegistry.counter("gateway.requests.coalescing.timeouts");
+        meterRegistry.gaugeMapSize("gateway.requests.in.flight", List.of(), inFlight);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET
+                || request.getHeaders().getAccept().contains(MediaType.APPLICATION_NDJSON)) {
+            return execution.execute(request, body);
+        }
+        String key = request.getURI() + "#" + request.getHeaders().getFirst(USER_HEADER)
+                + "#" + request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CompletableFuture<BufferedResponse> call = new CompletableFuture<>();
+        CompletableFuture<BufferedResponse> leader = inFlight.putIfAbsent(key, call);
+        if (leader == null) {
+            return lead(key, call, request, body, execution);
+        }
+        collapsed.increment();
+        try {
+            return leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS).toResponse();
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            return execution.execute(request, body);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + request.getURI());
+        }
+    }
+
+    private ClientHttpResponse lead(String key, CompletableFuture<BufferedResponse> call, HttpRequest request,
+                                    byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        try {
+            BufferedResponse response = BufferedResponse.of(execution.execute(request, body));
+            call.complete(response);
+            return response.toResponse();
+        } catch (IOException | RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-server.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+    @Bean
+    public Cache<String, ResponseCacheInterceptor.CachedResponse> responseCache(ResponseCacheProperties properties,
+                                                                                MeterRegistry meterRegistry) {
+        Cache<String, ResponseCacheInterceptor.CachedResponse> cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getFreshFor().plus(properties.getStaleFor()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-responses");
+        return cache;
+    }
+
+    @Bean
+    public ResponseCacheInterceptor responseCacheInterceptor(
+            Cache<String, ResponseCacheInterceptor.CachedResponse> responseCache, ResponseCacheProperties properties,
+            Executor shareItServerExecutor, MeterRegistry meterRegistry) {
+        return new ResponseCacheInterceptor(responseCache, properties, shareItServerExecutor, meterRegistry);
+    }
+
+    @Bean
+    @Order(1)
+    public RestTemplateCustomizer responseCacheCustomizer(ResponseCacheInterceptor responseCacheInterceptor) {
+        return restTemplate -> restTemplate.getInterceptors().add(responseCacheInterceptor);
+    }
+}
@@ -0,0 +1,214 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Map<String, Set<String>> INVALIDATIONS = Map.of(
+            "users", Set.of("users", "items", "bookings", "requests"),
+            "items", Set.of("items", "bookings", "requests"),
+            "bookings", Set.of("bookings", "items"),
+            "requests", Set.of("requests"));
+
+    private final Cache<String, CachedResponse> cache;
+    private final ResponseCacheProperties properties;
+    private final Executor executor;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Boolean> revalidating = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter staleHits;
+    private final Counter notModified;
+    private final Counter revalidationFailures;
+
+    public ResponseCacheInterceptor(Cache<String, CachedResponse> cache, ResponseCacheProperties properties,
+                                    Executor executor, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.properties = properties;
+        this.executor = executor;
+        this.staleHits = meterRegistry.counter("gateway.responses.stale");
+        this.notModified = meterRegistry.counter("gateway.responses.revalidations", "result", "not_modified");
+        this.revalidationFailures = meterRegistry.counter("gateway.responses.revalidations", "result", "failed");
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                invalidate(resourceOf(request));
+            }
+            return response;
+        }
+        String key = cacheKey(request);
+        if (key == null) {
+            return execution.execute(request, body);
+        }
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        request.getHeaders().remove(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached == null) {
+            return answer(fetch(key, request, body, execution, null), ifNoneMatch);
+        }
+        if (cached.ageNanos() > properties.getFreshFor().toNanos()) {
+            staleHits.increment();
+            revalidateInBackground(key, request, body, execution, cached);
+        }
+        return answer(cached.response, ifNoneMatch);
+    }
+
+    private static ClientHttpResponse answer(BufferedResponse response, List<String> ifNoneMatch) {
+        String eTag = response.getHeaders().getETag();
+        if (response.getStatus() == HttpStatus.OK && eTag != null
+                && ifNoneMatch.stream().anyMatch(tag -> weakMatches(tag, eTag))) {
+            return response.notModified().toResponse();
+        }
+        return response.toResponse();
+    }
+
+    private static boolean weakMatches(String first, String second) {
+        return stripWeak(first).equals(stripWeak(second));
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private BufferedResponse fetch(String key, HttpRequest request, byte[] body,
+                                     ClientHttpRequestExecution execution, CachedResponse cached) throws IOException {
+        String resource = resourceOf(request);
+        AtomicLong generation = generationOf(resource);
+        long fetchedGeneration = generation.get();
+        String eTag = cached != null ? cached.response.getHeaders().getETag() : null;
+        if (eTag != null) {
+            request.getHeaders().setIfNoneMatch(eTag);
+        }
+        BufferedResponse response = BufferedResponse.of(execution.execute(request, body));
+        if (cached != null && response.getStatus() == HttpStatus.NOT_MODIFIED) {
+            notModified.increment();
+            CachedResponse refreshed = cached.refresh();
+            store(key, refreshed, generation, fetchedGeneration);
+            return refreshed.response;
+        }
+        if (isCacheable(response)) {
+            store(key, new CachedResponse(response, resource, System.nanoTime()), generation, fetchedGeneration);
+        }
+        return response;
+    }
+
+    private void store(String key, CachedResponse response, AtomicLong generation, long fetchedGeneration) {
+        if (generation.get() != fetchedGeneration) {
+            return;
+        }
+        cache.put(key, response);
+        if (generation.get() != fetchedGeneration) {
+            cache.asMap().remove(key, response);
+        }
+    }
+
+    private void invalidate(String resource) {
+        Set<String> resources = INVALIDATIONS.get(resource);
+        if (resources == null) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            cache.invalidateAll();
+            return;
+        }
+        for (String invalidated : resources) {
+            generationOf(invalidated).incrementAndGet();
+        }
+        cache.asMap().values().removeIf(cached -> resources.contains(cached.resource));
+    }
+
+    private AtomicLong generationOf(String resource) {
+        return generations.computeIfAbsent(resource, key -> new AtomicLong());
+    }
+
+    private void revalidateInBackground(String key, HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution, CachedResponse cached) {
+        if (revalidating.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    fetch(key, request, body, execution, cached);
+                } catch (IOException | RuntimeException e) {
+                    revalidationFailures.increment();
+                    log.warn("Failed to revalidate cached response {}: {}", request.getURI(), e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    private static String resourceOf(HttpRequest request) {
+        String path = request.getURI().getPath();
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private String cacheKey(HttpRequest request) {
+        String path = request.getURI().getPath();
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        for (String pattern : properties.getSharedPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return request.getURI().toString();
+            }
+        }
+        for (String pattern : properties.getUserPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return request.getURI() + "#" + request.getHeaders().getFirst(USER_HEADER);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isCacheable(BufferedResponse response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+        return response.getStatus() == HttpStatus.OK
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final BufferedResponse response;
+        private final String resource;
+        private final long storedAt;
+
+        private long ageNanos() {
+            return System.nanoTime() - storedAt;
+        }
+
+        private CachedResponse refresh() {
+            return new CachedResponse(response, resource, System.nanoTime());
+        }
+    }
+}
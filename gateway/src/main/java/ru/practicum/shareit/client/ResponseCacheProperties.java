@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "shareit-server.cache")
+@Getter
+@Setter
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private Duration freshFor = Duration.ofSeconds(30);
+    private Duration staleFor = Duration.ofMinutes(5);
+    private List<String> sharedPaths = new ArrayList<>();
+    private List<String> userPaths = new ArrayList<>();
+}
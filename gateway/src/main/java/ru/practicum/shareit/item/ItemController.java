@@ -12,6 +12,7 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -22,16 +23,16 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(defaultValue = "10") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                                     @RequestParam(defaultValue = "10") @Positive int size) {
         log.info("Getting items of user {}, from={}, size={}", userId, from, size);
         return itemClient.getItemsByOwner(userId, from, size);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                              @PathVariable long itemId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                 @PathVariable long itemId) {
         log.info("Getting item {}, userId={}", itemId, userId);
         return itemClient.getItemById(userId, itemId);
     }
@@ -52,9 +53,9 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestParam String text,
-                                         @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                         @RequestParam(defaultValue = "10") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> search(@RequestParam String text,
+                                                            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                            @RequestParam(defaultValue = "10") @Positive int size) {
         log.info("Getting items by key {}, from={}, size={}", text, from, size);
         return itemClient.search(text, from, size);
     }
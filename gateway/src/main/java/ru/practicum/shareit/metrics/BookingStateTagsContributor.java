@@ -0,0 +1,53 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Component
+public class BookingStateTagsContributor implements WebMvcTagsContributor {
+    private static final String STATE = "state";
+    private static final String NONE = "none";
+    private static final String UNKNOWN = "UNKNOWN";
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        String state = request.getParameter(STATE);
+        if (state == null) {
+            state = defaultState(handler);
+        }
+        if (state == null) {
+            return Tags.of(STATE, NONE);
+        }
+        return Tags.of(STATE, BookingState.from(state).map(Enum::name).orElse(UNKNOWN));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.empty();
+    }
+
+    private static String defaultState(Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        for (MethodParameter parameter : ((HandlerMethod) handler).getMethodParameters()) {
+            RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+            if (requestParam != null && STATE.equals(requestParam.name())
+                    && !ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())) {
+                return requestParam.defaultValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.ratelimit;
+
+public enum EndpointClass {
+    READ,
+    WRITE,
+    SEARCH
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "shareit-gateway.rate-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitConfig(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter() {
+        return new TokenBucketRateLimiter(properties);
+    }
+
+    @Bean
+    public ServerHealthTracker serverHealthTracker() {
+        return new ServerHealthTracker(properties);
+    }
+
+    @Bean
+    @Order(3)
+    public RestTemplateCustomizer serverHealthCustomizer(ServerHealthTracker serverHealthTracker) {
+        return restTemplate -> restTemplate.getInterceptors().add(new ServerHealthInterceptor(serverHealthTracker));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(tokenBucketRateLimiter(), serverHealthTracker(),
+                        meterRegistry))
+                .addPathPatterns("/items/**", "/bookings/**", "/requests/**", "/users/**");
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ServerHealthTracker serverHealthTracker;
+    private final Counter limited;
+    private final Counter shed;
+
+    public RateLimitInterceptor(TokenBucketRateLimiter rateLimiter, ServerHealthTracker serverHealthTracker,
+                                MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.serverHealthTracker = serverHealthTracker;
+        this.limited = meterRegistry.counter("gateway.requests.rejected", "reason", "rate_limit");
+        this.shed = meterRegistry.counter("gateway.requests.rejected", "reason", "server_degraded");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (serverHealthTracker.isDegraded()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, ServerHealthTracker.WINDOW_SECONDS,
+                    "ShareIt server is degraded, retry later");
+            return false;
+        }
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request), endpointClass(request));
+        if (waitNanos > 0) {
+            limited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos)),
+                    "Too many requests");
+            return false;
+        }
+        return true;
+    }
+
+    private static long clientKey(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId != null) {
+            try {
+                return Long.parseLong(userId);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        return -2 - (request.getRemoteAddr().hashCode() & Integer.MAX_VALUE);
+    }
+
+    private static EndpointClass endpointClass(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return EndpointClass.WRITE;
+        }
+        return request.getRequestURI().contains("/search") ? EndpointClass.SEARCH : EndpointClass.READ;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Budget read = new Budget(50, 20);
+    private Budget write = new Budget(10, 5);
+    private Budget search = new Budget(20, 5);
+    private Duration latencyThreshold = Duration.ofSeconds(2);
+    private double errorRateThreshold = 0.5;
+    private int minCalls = 20;
+
+    public Budget getBudget(EndpointClass endpointClass) {
+        switch (endpointClass) {
+            case WRITE:
+                return write;
+            case SEARCH:
+                return search;
+            default:
+                return read;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Budget {
+        private int capacity;
+        private double refillPerSecond;
+    }
+}
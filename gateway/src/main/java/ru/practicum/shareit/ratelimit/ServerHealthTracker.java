@@ -0,0 +1,76 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+public class ServerHealthTracker {
+    public static final int WINDOW_SECONDS = 10;
+    private static final long EVALUATION_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final long latencyThreshold;
+    private final double errorRateThreshold;
+    private final int minCalls;
+    private final AtomicLongArray epochs = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray calls = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray errors = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SECONDS);
+    private final LongSupplier nanoClock;
+    private volatile boolean degraded;
+    private volatile long evaluatedAt;
+
+    public ServerHealthTracker(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    ServerHealthTracker(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.evaluatedAt = nanoClock.getAsLong() - EVALUATION_INTERVAL;
+        this.latencyThreshold = properties.getLatencyThreshold().toNanos();
+        this.errorRateThreshold = properties.getErrorRateThreshold();
+        this.minCalls = properties.getMinCalls();
+    }
+
+    public void record(long latencyNanos, boolean error) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong());
+        int slot = (int) (second % WINDOW_SECONDS);
+        long epoch = epochs.get(slot);
+        if (epoch != second && epochs.compareAndSet(slot, epoch, second)) {
+            calls.set(slot, 0);
+            errors.set(slot, 0);
+            latencies.set(slot, 0);
+        }
+        calls.incrementAndGet(slot);
+        latencies.addAndGet(slot, latencyNanos);
+        if (error) {
+            errors.incrementAndGet(slot);
+        }
+    }
+
+    public boolean isDegraded() {
+        long now = nanoClock.getAsLong();
+        if (now - evaluatedAt >= EVALUATION_INTERVAL) {
+            evaluatedAt = now;
+            degraded = evaluate(TimeUnit.NANOSECONDS.toSeconds(now));
+        }
+        return degraded;
+    }
+
+    private boolean evaluate(long second) {
+        long totalCalls = 0;
+        long totalErrors = 0;
+        long totalLatency = 0;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            if (second - epochs.get(slot) < WINDOW_SECONDS) {
+                totalCalls += calls.get(slot);
+                totalErrors += errors.get(slot);
+                totalLatency += latencies.get(slot);
+            }
+        }
+        if (totalCalls < minCalls) {
+            return false;
+        }
+        return (double) totalErrors / totalCalls > errorRateThreshold
+                || totalLatency / totalCalls > latencyThreshold;
+    }
+}
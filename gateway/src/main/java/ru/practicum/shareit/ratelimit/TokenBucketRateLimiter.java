@@ -0,0 +1,130 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+public class TokenBucketRateLimiter {
+    private static final int STRIPES = 64;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final double[] capacities = new double[EndpointClass.values().length];
+    private final double[] refillPerNano = new double[EndpointClass.values().length];
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongSupplier nanoClock;
+
+    public TokenBucketRateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            RateLimitProperties.Budget budget = properties.getBudget(endpointClass);
+            capacities[endpointClass.ordinal()] = budget.getCapacity();
+            refillPerNano[endpointClass.ordinal()] = budget.getRefillPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        }
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public long tryAcquire(long clientKey, EndpointClass endpointClass) {
+        int type = endpointClass.ordinal();
+        long key = clientKey * 4 + type;
+        Stripe stripe = stripes[(int) (mix(key) & (STRIPES - 1))];
+        long now = nanoClock.getAsLong();
+        stripe.lock.lock();
+        try {
+            int slot = stripe.slotOf(key, now);
+            double tokens = Math.min(capacities[type],
+                    stripe.tokens[slot] + (now - stripe.updatedAt[slot]) * refillPerNano[type]);
+            stripe.updatedAt[slot] = now;
+            if (tokens >= 1) {
+                stripe.tokens[slot] = tokens - 1;
+                return 0;
+            }
+            stripe.tokens[slot] = tokens;
+            return (long) Math.ceil((1 - tokens) / refillPerNano[type]);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] keys = emptyKeys(16);
+        private double[] tokens = new double[16];
+        private long[] updatedAt = new long[16];
+        private int size;
+
+        private int slotOf(long key, long now) {
+            int mask = keys.length - 1;
+            int slot = (int) (mix(key) >>> 7) & mask;
+            while (keys[slot] != EMPTY) {
+                if (keys[slot] == key) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                rehash(now);
+                return slotOf(key, now);
+            }
+            keys[slot] = key;
+            tokens[slot] = capacities[(int) (key & 3)];
+            updatedAt[slot] = now;
+            size++;
+            return slot;
+        }
+
+        private void rehash(long now) {
+            long[] oldKeys = keys;
+            double[] oldTokens = tokens;
+            long[] oldUpdatedAt = updatedAt;
+            int live = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY && !isRefilled(oldKeys[i], oldTokens[i], oldUpdatedAt[i], now)) {
+                    live++;
+                }
+            }
+            int length = oldKeys.length;
+            while ((live + 1) * 4 > length) {
+                length *= 2;
+            }
+            keys = emptyKeys(length);
+            tokens = new double[length];
+            updatedAt = new long[length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY && !isRefilled(oldKeys[i], oldTokens[i], oldUpdatedAt[i], now)) {
+                    int slot = (int) (mix(oldKeys[i]) >>> 7) & (length - 1);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & (length - 1);
+                    }
+                    keys[slot] = oldKeys[i];
+                    tokens[slot] = oldTokens[i];
+                    updatedAt[slot] = oldUpdatedAt[i];
+                    size++;
+                }
+            }
+        }
+
+        private boolean isRefilled(long key, double bucketTokens, long bucketUpdatedAt, long now) {
+            int type = (int) (key & 3);
+            return bucketTokens + (now - bucketUpdatedAt) * refillPerNano[type] >= capacities[type];
+        }
+
+        private long[] emptyKeys(int length) {
+            long[] emptyKeys = new long[length];
+            Arrays.fill(emptyKeys, EMPTY);
+            return emptyKeys;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequestMapping(path = "/requests")
@@ -28,20 +29,20 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") long userId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") long userId) {
         return itemRequestClient.getItemRequestsByRequestor(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                  @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(defaultValue = "10") @Positive int size) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                                     @RequestParam(defaultValue = "10") @Positive int size) {
         return itemRequestClient.getItemRequests(userId, from, size);
     }
 
     @GetMapping("{requestId}")
-    public ResponseEntity<Object> getItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                     @PathVariable long requestId) {
+    public CompletableFuture<ResponseEntity<Object>> getItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                                        @PathVariable long requestId) {
         return itemRequestClient.getItemRequestById(userId, requestId);
     }
 }
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheInterceptorTest {
+    private static final byte[] EMPTY = new byte[0];
+    private static final String ENTITY_TAG = "\"42\"";
+
+    private ResponseCacheInterceptor interceptor;
+    private AtomicInteger serverCalls;
+    private List<String> forwardedIfNoneMatch;
+    private ClientHttpRequestExecution server;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setSharedPaths(List.of("/items/search"));
+        properties.setUserPaths(List.of("/items/{itemId}", "/requests/all"));
+        Cache<String, ResponseCacheInterceptor.CachedResponse> cache = Caffeine.newBuilder().build();
+        interceptor = new ResponseCacheInterceptor(cache, properties, Runnable::run, new SimpleMeterRegistry());
+        serverCalls = new AtomicInteger();
+        forwardedIfNoneMatch = new ArrayList<>();
+        server = (request, body) -> {
+            serverCalls.incrementAndGet();
+            forwardedIfNoneMatch.addAll(request.getHeaders().getIfNoneMatch());
+            MockClientHttpResponse response = new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK);
+            response.getHeaders().setETag(ENTITY_TAG);
+            return response;
+        };
+    }
+
+    @Test
+    void mutationInvalidatesOnlyDependentResources() throws IOException {
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+        interceptor.intercept(get("/requests/all"), EMPTY, server);
+
+        interceptor.intercept(request(HttpMethod.POST, "/bookings"), EMPTY, server);
+        interceptor.intercept(get("/requests/all"), EMPTY, server);
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+
+        assertThat(serverCalls).hasValue(4);
+    }
+
+    @Test
+    void responseFetchedBeforeMutationIsNotCached() throws IOException {
+        ClientHttpRequestExecution racingServer = (request, body) -> {
+            interceptor.intercept(request(HttpMethod.PATCH, "/items/1"), EMPTY, server);
+            return new MockClientHttpResponse("{}".getBytes(), HttpStatus.OK);
+        };
+        interceptor.intercept(get("/items/1"), EMPTY, racingServer);
+
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+
+        assertThat(serverCalls).hasValue(2);
+    }
+
+    @Test
+    void matchingIfNoneMatchIsAnsweredFromCache() throws IOException {
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+
+        ClientHttpResponse response = interceptor.intercept(conditionalGet("/items/1", ENTITY_TAG), EMPTY, server);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo(ENTITY_TAG);
+        assertThat(response.getBody()).isEmpty();
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsCachedBody() throws IOException {
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+
+        ClientHttpResponse response = interceptor.intercept(conditionalGet("/items/1", "\"41\""), EMPTY, server);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasContent("{}");
+    }
+
+    @Test
+    void ifNoneMatchIsNotForwardedWhenFillingCache() throws IOException {
+        ClientHttpResponse response = interceptor.intercept(conditionalGet("/items/1", ENTITY_TAG), EMPTY, server);
+        interceptor.intercept(get("/items/1"), EMPTY, server);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(forwardedIfNoneMatch).isEmpty();
+        assertThat(serverCalls).hasValue(1);
+    }
+
+    @Test
+    void ifNoneMatchIsForwardedForUncachedPaths() throws IOException {
+        interceptor.intercept(conditionalGet("/bookings/1", ENTITY_TAG), EMPTY, server);
+
+        assertThat(forwardedIfNoneMatch).containsExactly(ENTITY_TAG);
+    }
+
+    private static HttpRequest conditionalGet(String path, String ifNoneMatch) {
+        HttpRequest request = get(path);
+        request.getHeaders().set(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        return request;
+    }
+
+    private static HttpRequest get(String path) {
+        return request(HttpMethod.GET, path);
+    }
+
+    private static HttpRequest request(HttpMethod method, String path) {
+        MockClientHttpRequest request = new MockClientHttpRequest(method, URI.create("http://localhost:9090" + path));
+        request.getHeaders().set("X-Sharer-User-Id", "1");
+        return request;
+    }
+}
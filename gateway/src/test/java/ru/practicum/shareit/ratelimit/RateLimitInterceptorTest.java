@@ -0,0 +1,60 @@
+package ru.practicum.shareit.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private ServerHealthTracker serverHealthTracker;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setWrite(new RateLimitProperties.Budget(1, 0.5));
+        properties.setMinCalls(1);
+        serverHealthTracker = new ServerHealthTracker(properties, clock::get);
+        interceptor = new RateLimitInterceptor(new TokenBucketRateLimiter(properties, clock::get),
+                serverHealthTracker, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void exhaustedBudgetIsRejectedWithRetryAfter() throws Exception {
+        assertThat(interceptor.preHandle(post(), new MockHttpServletResponse(), new Object())).isTrue();
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(post(), response, new Object())).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+    }
+
+    @Test
+    void degradedServerIsShedWithRetryAfter() throws Exception {
+        serverHealthTracker.record(0, true);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(post(), response, new Object())).isFalse();
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER))
+                .isEqualTo(String.valueOf(ServerHealthTracker.WINDOW_SECONDS));
+    }
+
+    private static MockHttpServletRequest post() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/items");
+        request.addHeader("X-Sharer-User-Id", "1");
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServerHealthTrackerTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(3);
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private ServerHealthTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setLatencyThreshold(Duration.ofSeconds(2));
+        properties.setErrorRateThreshold(0.5);
+        properties.setMinCalls(10);
+        tracker = new ServerHealthTracker(properties, clock::get);
+    }
+
+    @Test
+    void healthyServerIsNotDegraded() {
+        record(10, FAST, false);
+
+        assertThat(tracker.isDegraded()).isFalse();
+    }
+
+    @Test
+    void errorsAboveThresholdDegradeServer() {
+        record(4, FAST, false);
+        record(6, FAST, true);
+
+        assertThat(tracker.isDegraded()).isTrue();
+    }
+
+    @Test
+    void slowResponsesDegradeServer() {
+        record(10, SLOW, false);
+
+        assertThat(tracker.isDegraded()).isTrue();
+    }
+
+    @Test
+    void tooFewCallsNeverDegradeServer() {
+        record(9, FAST, true);
+
+        assertThat(tracker.isDegraded()).isFalse();
+    }
+
+    @Test
+    void serverRecoversOnceFailuresLeaveWindow() {
+        record(10, FAST, true);
+        assertThat(tracker.isDegraded()).isTrue();
+
+        advance(TimeUnit.SECONDS.toNanos(ServerHealthTracker.WINDOW_SECONDS));
+        record(10, FAST, false);
+
+        assertThat(tracker.isDegraded()).isFalse();
+    }
+
+    @Test
+    void stateIsReevaluatedAtMostEveryHundredMilliseconds() {
+        assertThat(tracker.isDegraded()).isFalse();
+        record(10, FAST, true);
+
+        assertThat(tracker.isDegraded()).isFalse();
+        advance(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(tracker.isDegraded()).isTrue();
+    }
+
+    private void record(int calls, long latencyNanos, boolean error) {
+        for (int i = 0; i < calls; i++) {
+            tracker.record(latencyNanos, error);
+        }
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+}
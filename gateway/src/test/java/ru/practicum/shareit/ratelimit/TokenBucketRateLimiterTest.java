@@ -0,0 +1,87 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Budget(2, 1000));
+        properties.setWrite(new RateLimitProperties.Budget(1, 0.5));
+        properties.setSearch(new RateLimitProperties.Budget(1, 0.001));
+        rateLimiter = new TokenBucketRateLimiter(properties, clock::get);
+    }
+
+    @Test
+    void emptyBucketReportsWaitUntilNextToken() {
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.WRITE)).isZero();
+
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.WRITE)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+    }
+
+    @Test
+    void bucketRefillsOverTime() {
+        rateLimiter.tryAcquire(1, EndpointClass.WRITE);
+        advance(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.WRITE)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        advance(TimeUnit.SECONDS.toNanos(1));
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.WRITE)).isZero();
+    }
+
+    @Test
+    void endpointClassesAndClientsHaveSeparateBuckets() {
+        rateLimiter.tryAcquire(1, EndpointClass.WRITE);
+
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.SEARCH)).isZero();
+        assertThat(rateLimiter.tryAcquire(2, EndpointClass.WRITE)).isZero();
+        assertThat(rateLimiter.tryAcquire(1, EndpointClass.WRITE)).isPositive();
+    }
+
+    @Test
+    void drainedBucketOfNegativeKeySurvivesRehash() {
+        long remoteAddressKey = -2 - ("10.0.0.1".hashCode() & Integer.MAX_VALUE);
+        rateLimiter.tryAcquire(remoteAddressKey, EndpointClass.SEARCH);
+        for (long client = 0; client < 10_000; client++) {
+            rateLimiter.tryAcquire(client, EndpointClass.READ);
+        }
+        advance(TimeUnit.SECONDS.toNanos(1));
+
+        for (long client = 10_000; client < 100_000; client++) {
+            rateLimiter.tryAcquire(client, EndpointClass.READ);
+        }
+
+        assertThat(rateLimiter.tryAcquire(remoteAddressKey, EndpointClass.SEARCH)).isPositive();
+    }
+
+    @Test
+    void refilledBucketsEvictedDuringRehashStartFull() {
+        for (long client = 0; client < 10_000; client++) {
+            rateLimiter.tryAcquire(client, EndpointClass.READ);
+            rateLimiter.tryAcquire(client, EndpointClass.READ);
+        }
+        advance(TimeUnit.SECONDS.toNanos(1));
+
+        for (long client = 10_000; client < 100_000; client++) {
+            rateLimiter.tryAcquire(client, EndpointClass.READ);
+        }
+
+        assertThat(rateLimiter.tryAcquire(0, EndpointClass.READ)).isZero();
+        assertThat(rateLimiter.tryAcquire(0, EndpointClass.READ)).isZero();
+        assertThat(rateLimiter.tryAcquire(0, EndpointClass.READ)).isPositive();
+    }
+
+    private void advance(long nanos) {
+        clock.addAndGet(nanos);
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -10,6 +11,7 @@ import ru.practicum.shareit.item.exception.CommentNotAvailableException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.UpdateNotAvailableException;
 import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
+import ru.practicum.shareit.sql.SqlStatementBudgetExceededException;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 
 @RestControllerAdvice
@@ -31,13 +33,28 @@ public class ErrorHandler {
     @ExceptionHandler({DateSequenceException.class,
             BookingNotAvailableException.class,
             StatusChangingNotAvailableException.class,
-            CommentNotAvailableException.class})
+            CommentNotAvailableException.class,
+            CursorFormatException.class})
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse badRequestHandler(final RuntimeException e) {
         log.info("400: {}", e.getMessage(), e);
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse conflictHandler(final BookingOverlapException e) {
+        log.info("409: {}", e.getMessage(), e);
+        return new ErrorResponse(e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse optimisticLockHandler(final ObjectOptimisticLockingFailureException e) {
+        log.info("409: {}", e.getMessage(), e);
+        return new ErrorResponse("Entity was modified concurrently, retry the request");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse unsupportedStatusHandler(final UnsupportedStatusException e) {
@@ -45,6 +62,13 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ErrorResponse sqlStatementBudgetHandler(final SqlStatementBudgetExceededException e) {
+        log.info("500: {}", e.getMessage(), e);
+        return new ErrorResponse(e.getMessage());
+    }
+
     private class ErrorResponse {
         String error;
 
@@ -1,15 +1,29 @@
 package ru.practicum.shareit.booking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingMapper;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.sql.SqlStatementBudget;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,14 +33,17 @@ import java.util.List;
 @Validated
 @Slf4j
 public class BookingController {
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingFullDto saveBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                       @RequestBody BookingDto bookingDto) {
         Booking booking = BookingMapper.toBooking(bookingDto);
         log.info("Booking is being created: {}", booking);
-        return BookingMapper.toBookingFullDto(bookingService.save(userId, bookingDto, booking));
+        return bookingService.save(userId, bookingDto, booking);
     }
 
     @PatchMapping("/{bookingId}")
@@ -34,36 +51,128 @@ public class BookingController {
                                         @PathVariable int bookingId,
                                         @RequestParam String approved) {
         log.info("Booking is being updated");
-        return BookingMapper.toBookingFullDto(bookingService.update(userId, bookingId, approved));
+        return bookingService.update(userId, bookingId, approved);
+    }
+
+    @PostMapping("/batch")
+    public List<BookingBatchResult> saveBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                 @RequestBody List<BookingDto> bookingDtos) {
+        log.info("{} bookings are being created", bookingDtos.size());
+        return bookingService.saveAll(userId, bookingDtos);
+    }
+
+    @PatchMapping("/approve")
+    public List<BookingBatchResult> updateBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                   @RequestParam String approved,
+                                                   @RequestBody List<Long> bookingIds) {
+        log.info("{} bookings are being updated", bookingIds.size());
+        return bookingService.updateAll(userId, bookingIds, approved);
     }
 
     @GetMapping("/{bookingId}")
+    @SqlStatementBudget(2)
     public BookingFullDto getBookingById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                         @PathVariable long bookingId) {
-        return BookingMapper.toBookingFullDto(bookingService.getBookingById(userId, bookingId));
+                                         @PathVariable long bookingId,
+                                         WebRequest request) {
+        BookingView booking = bookingService.getBookingById(userId, bookingId);
+        if (request.checkNotModified(getEntityTag(List.of(booking)))) {
+            return null;
+        }
+        return BookingMapper.toBookingFullDto(booking);
     }
 
     @GetMapping
-    public List<BookingFullDto> getBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                    @RequestParam(defaultValue = "ALL") String state,
-                                                    @RequestParam(defaultValue = "0") int from,
-                                                    @RequestParam(defaultValue = "10") int size) {
+    @SqlStatementBudget(2)
+    public ResponseEntity<List<BookingFullDto>> getBookingsByBooker(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return toCursorPage(bookingService.getBookingsByBooker(userId, state, cursor, size), size);
+        }
+        List<BookingView> bookings = bookingService.getBookingsByBooker(userId, state, from, size);
         List<BookingFullDto> bookingsByBooker = new ArrayList<>();
-        for (Booking booking : bookingService.getBookingsByBooker(userId, state, from, size)) {
+        for (BookingView booking : bookings) {
             bookingsByBooker.add(BookingMapper.toBookingFullDto(booking));
         }
-        return bookingsByBooker;
+        return ResponseEntity.ok().eTag(getEntityTag(bookings)).body(bookingsByBooker);
     }
 
     @GetMapping("/owner")
-    public List<BookingFullDto> getBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                   @RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") int from,
-                                                   @RequestParam(defaultValue = "10") int size) {
+    @SqlStatementBudget(2)
+    public ResponseEntity<List<BookingFullDto>> getBookingsByOwner(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return toCursorPage(bookingService.getBookingsByOwner(userId, state, cursor, size), size);
+        }
+        List<BookingView> bookings = bookingService.getBookingsByOwner(userId, state, from, size);
         List<BookingFullDto> bookingsByOwner = new ArrayList<>();
-        for (Booking booking : bookingService.getBookingsByOwner(userId, state, from, size)) {
+        for (BookingView booking : bookings) {
             bookingsByOwner.add(BookingMapper.toBookingFullDto(booking));
         }
-        return bookingsByOwner;
+        return ResponseEntity.ok().eTag(getEntityTag(bookings)).body(bookingsByOwner);
+    }
+
+    @GetMapping("/export")
+    @SqlStatementBudget(2)
+    public void exportBookingsByBooker(@RequestHeader("X-Sharer-User-Id") long userId,
+                                       HttpServletResponse response) throws IOException {
+        log.info("Bookings of booker {} are being exported", userId);
+        ObjectWriter writer = objectMapper.writerFor(BookingFullDto.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingService.exportBookingsByBooker(userId, chunk -> writeLines(response, writer, chunk));
+        response.flushBuffer();
+    }
+
+    @GetMapping("/owner/export")
+    @SqlStatementBudget(2)
+    public void exportBookingsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                      HttpServletResponse response) throws IOException {
+        log.info("Bookings of owner {} are being exported", userId);
+        ObjectWriter writer = objectMapper.writerFor(BookingFullDto.class);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingService.exportBookingsByOwner(userId, chunk -> writeLines(response, writer, chunk));
+        response.flushBuffer();
+    }
+
+    private static void writeLines(HttpServletResponse response, ObjectWriter writer, List<BookingFullDto> chunk) {
+        try {
+            OutputStream out = response.getOutputStream();
+            for (BookingFullDto booking : chunk) {
+                out.write(writer.writeValueAsBytes(booking));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ResponseEntity<List<BookingFullDto>> toCursorPage(List<BookingView> bookings, int size) {
+        List<BookingFullDto> page = new ArrayList<>();
+        for (BookingView booking : bookings) {
+            page.add(BookingMapper.toBookingFullDto(booking));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(getEntityTag(bookings));
+        if (!bookings.isEmpty() && bookings.size() == size) {
+            BookingView last = bookings.get(bookings.size() - 1);
+            response.header(NEXT_CURSOR_HEADER, new BookingCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(page);
+    }
+
+    private static String getEntityTag(List<BookingView> bookings) {
+        List<Object> parts = new ArrayList<>();
+        for (BookingView booking : bookings) {
+            parts.add(booking.getId() + "v" + booking.getVersion());
+            parts.add(booking.getItemId() + "v" + booking.getItemVersion());
+        }
+        return EntityTags.of(parts);
     }
 }
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Status;
+
+import java.time.LocalDateTime;
+
+public interface BookingView {
+    Long getId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Status getStatus();
+
+    Long getVersion();
+
+    Long getItemId();
+
+    String getItemName();
+
+    Long getItemVersion();
+
+    Long getItemOwnerId();
+
+    Long getBookerId();
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.exception;
+
+public class CursorFormatException extends RuntimeException {
+    public CursorFormatException(String message) {
+        super(message);
+    }
+}
@@ -1,50 +1,193 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.dto.ItemBookingStart;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerOrderByStartDesc(User booker, Pageable pageable);
+    String BOOKING_VIEW = "select b.id as id, b.start as start, b.end as end, b.status as status," +
+            " b.version as version, i.id as itemId, i.name as itemName, i.version as itemVersion," +
+            " b.itemOwnerId as itemOwnerId, b.booker.id as bookerId " +
+            "from Booking as b join b.item as i ";
+
+    @EntityGraph(attributePaths = "item")
+    Optional<Booking> findWithItemById(Long bookingId);
+
+    @EntityGraph(attributePaths = "item")
+    List<Booking> findAllWithItemByIdIn(Collection<Long> bookingIds);
+
+    @Query("select b.item.id from Booking as b where b.id = ?1")
+    Optional<Long> findItemIdById(Long bookingId);
+
+    @Query("select distinct b.item.id from Booking as b where b.id in ?1")
+    List<Long> findItemIdsByIdIn(Collection<Long> bookingIds);
+
+    @Query("select distinct b.item.id from Booking as b where b.booker.id = ?1 and b.status = ?2 and b.end > ?3")
+    List<Long> findItemIdsByBookerId(Long bookerId, Status status, LocalDateTime now);
+
+    @Query(BOOKING_VIEW +
+            "where b.id = ?1")
+    Optional<BookingView> findViewById(Long bookingId);
+
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status in ?2 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findAllByBooker(Long bookerId, Collection<Status> statuses, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.start < ?2 and b.end > ?2 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findCurrentByBooker(Long bookerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBookerAndStartBeforeAndEndAfter(
-            User booker, LocalDateTime now, LocalDateTime now1, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status = ?2 and b.end < ?3 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findPastByBooker(Long bookerId, Status approved, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBookerAndStatusAndEndBeforeOrderByStartDesc(
-            User booker, Status approved, LocalDateTime now, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status in ?2 and b.start > ?3 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findFutureByBooker(
+            Long bookerId, Collection<Status> statuses, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByBookerAndStatusInAndStartAfterOrderByStartDesc(
-            User booker, Set<Status> future, LocalDateTime now, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status in ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findAllByBookerAfterCursor(
+            Long bookerId, Collection<Status> statuses, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
-    List<Booking> findAllByBookerAndStatusOrderByStartDesc(User booker, Status status, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.start < ?2 and b.end > ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findCurrentByBookerAfterCursor(
+            Long bookerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
 
-    List<Booking> findAllByItemInOrderByStartDesc(Set<Item> items, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status = ?2 and b.end < ?3" +
+            " and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findPastByBookerAfterCursor(
+            Long bookerId, Status approved, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+            Pageable pageable);
 
-    List<Booking> findAllByItemInAndStartBeforeAndEndAfterOrderByStartDesc(
-            Set<Item> items, LocalDateTime now, LocalDateTime now1, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 and b.status in ?2 and b.start > ?3" +
+            " and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findFutureByBookerAfterCursor(
+            Long bookerId, Collection<Status> statuses, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+            Pageable pageable);
 
-    List<Booking> findAllByItemInAndStatusAndEndBeforeOrderByStartDesc(
-            Set<Item> items, Status approved, LocalDateTime now, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status in ?2 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findAllByOwner(Long ownerId, Collection<Status> statuses, Pageable pageable);
 
-    List<Booking> findAllByItemInAndStatusInAndStartAfterOrderByStartDesc(
-            Set<Item> items, HashSet<Status> statuses, LocalDateTime now, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.start < ?2 and b.end > ?2 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findCurrentByOwner(Long ownerId, LocalDateTime now, Pageable pageable);
 
-    List<Booking> findAllByItemInAndStatusOrderByStartDesc(Set<Item> items, Status waiting, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status = ?2 and b.end < ?3 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findPastByOwner(Long ownerId, Status approved, LocalDateTime now, Pageable pageable);
 
-    Booking findFirstByItemAndStatusAndStartBeforeOrderByStartDesc(
-            Item item, Status approved, LocalDateTime now);
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status in ?2 and b.start > ?3 " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findFutureByOwner(
+            Long ownerId, Collection<Status> statuses, LocalDateTime now, Pageable pageable);
 
-    Booking findFirstByItemAndStatusAndStartAfterOrderByStart(
-            Item item, Status approved, LocalDateTime now);
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status in ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findAllByOwnerAfterCursor(
+            Long ownerId, Collection<Status> statuses, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.start < ?2 and b.end > ?2" +
+            " and (b.start < ?3 or (b.start = ?3 and b.id < ?4)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findCurrentByOwnerAfterCursor(
+            Long ownerId, LocalDateTime now, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status = ?2 and b.end < ?3" +
+            " and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findPastByOwnerAfterCursor(
+            Long ownerId, Status approved, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+            Pageable pageable);
+
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 and b.status in ?2 and b.start > ?3" +
+            " and (b.start < ?4 or (b.start = ?4 and b.id < ?5)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingView> findFutureByOwnerAfterCursor(
+            Long ownerId, Collection<Status> statuses, LocalDateTime now, LocalDateTime cursorStart, Long cursorId,
+            Pageable pageable);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start < ?3" +
+            " and b.start = (select max(b2.start) from Booking as b2" +
+            " where b2.item = b.item and b2.status = ?2 and b2.start < ?3) " +
+            "order by b.id")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, Status approved, LocalDateTime now);
+
+    @Query("select b " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start > ?3" +
+            " and b.start = (select min(b2.start) from Booking as b2" +
+            " where b2.item = b.item and b2.status = ?2 and b2.start > ?3) " +
+            "order by b.id")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, Status approved, LocalDateTime now);
+
+    @Query("select b.item.id as itemId, min(b.start) as start " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.status = ?2 and b.start > ?3 " +
+            "group by b.item.id")
+    List<ItemBookingStart> findNextStartsByItemIds(Collection<Long> itemIds, Status approved, LocalDateTime now);
+
+    @Query("select b.id as id, b.start as start, b.end as end " +
+            "from Booking as b " +
+            "where b.item.id = ?1 and b.status = ?2 and b.end > ?3")
+    List<BookingInterval> findIntervalsByItemId(Long itemId, Status status, LocalDateTime now);
 
     Booking findFirstByItemAndBookerAndStatusAndEndBefore(
             Item item, User booker, Status approved, LocalDateTime now);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_VIEW +
+            "where b.booker.id = ?1 " +
+            "order by b.start desc, b.id desc")
+    Stream<BookingView> streamAllByBookerId(Long bookerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(BOOKING_VIEW +
+            "where b.itemOwnerId = ?1 " +
+            "order by b.start desc, b.id desc")
+    Stream<BookingView> streamAllByItemOwnerId(Long ownerId);
 }
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookingRepository bookingRepository;
+    private final Lock[] locks = createLocks();
+    private final Map<Long, TreeSet<Interval>> schedules = new ConcurrentHashMap<>();
+
+    public <T> T executeWithItemLock(long itemId, Supplier<T> action) {
+        return executeWithItemLocks(List.of(itemId), action);
+    }
+
+    public <T> T executeWithItemLocks(Collection<Long> itemIds, Supplier<T> action) {
+        int[] stripes = itemIds.stream()
+                .mapToInt(itemId -> Math.floorMod(Long.hashCode(itemId), LOCK_STRIPES))
+                .distinct()
+                .sorted()
+                .toArray();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionState().lock(stripes);
+            return action.get();
+        }
+        int locked = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            return action.get();
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    public void checkOverlap(long itemId, LocalDateTime start, LocalDateTime end, Long bookingId) {
+        TreeSet<Interval> schedule = scheduleOf(itemId);
+        for (Interval candidate : schedule.headSet(new Interval(end, end, Long.MIN_VALUE), false)) {
+            if (candidate.end.isAfter(start) && !Objects.equals(candidate.bookingId, bookingId)) {
+                throw new BookingOverlapException(String.format(
+                        "Item with id %d is already booked from %s to %s", itemId, candidate.start, candidate.end));
+            }
+        }
+    }
+
+    public void addApproved(Booking booking) {
+        long itemId = booking.getItem().getId();
+        Interval interval = new Interval(booking.getStart(), booking.getEnd(), booking.getId());
+        scheduleOf(itemId).add(interval);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            transactionState().added.add(new AddedInterval(itemId, interval));
+        }
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        for (Long itemId : itemIds) {
+            schedules.remove(itemId);
+        }
+    }
+
+    private TreeSet<Interval> scheduleOf(long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        TreeSet<Interval> schedule = schedules.get(itemId);
+        if (schedule == null) {
+            TreeSet<Interval> loaded = new TreeSet<>(Interval.ORDER);
+            for (BookingInterval interval : bookingRepository.findIntervalsByItemId(itemId, Status.APPROVED, now)) {
+                loaded.add(new Interval(interval.getStart(), interval.getEnd(), interval.getId()));
+            }
+            schedule = schedules.putIfAbsent(itemId, loaded);
+            if (schedule == null) {
+                schedule = loaded;
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    transactionState().loadedItemIds.add(itemId);
+                }
+            }
+        }
+        while (!schedule.isEmpty() && schedule.first().end.isBefore(now)) {
+            schedule.pollFirst();
+        }
+        return schedule;
+    }
+
+    private TransactionState transactionState() {
+        TransactionState state = (TransactionState) TransactionSynchronizationManager.getResource(this);
+        if (state == null) {
+            state = new TransactionState();
+            TransactionSynchronizationManager.bindResource(this, state);
+            TransactionSynchronizationManager.registerSynchronization(state);
+        }
+        return state;
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    private class TransactionState implements TransactionSynchronization {
+        private final Deque<Lock> heldLocks = new ArrayDeque<>();
+        private final List<AddedInterval> added = new ArrayList<>();
+        private final Set<Long> loadedItemIds = new HashSet<>();
+
+        private void lock(int[] stripes) {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                heldLocks.push(locks[stripe]);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                if (status != STATUS_COMMITTED) {
+                    for (Long itemId : loadedItemIds) {
+                        schedules.remove(itemId);
+                    }
+                    for (AddedInterval addedInterval : added) {
+                        TreeSet<Interval> schedule = schedules.get(addedInterval.itemId);
+                        if (schedule != null) {
+                            schedule.remove(addedInterval.interval);
+                        }
+                    }
+                }
+            } finally {
+                while (!heldLocks.isEmpty()) {
+                    heldLocks.pop().unlock();
+                }
+                TransactionSynchronizationManager.unbindResourceIfPossible(BookingIntervalIndex.this);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class AddedInterval {
+        private final long itemId;
+        private final Interval interval;
+    }
+
+    @AllArgsConstructor
+    private static class Interval {
+        private static final Comparator<Interval> ORDER = Comparator.<Interval, LocalDateTime>comparing(i -> i.start)
+                .thenComparingLong(i -> i.bookingId);
+
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final long bookingId;
+    }
+}
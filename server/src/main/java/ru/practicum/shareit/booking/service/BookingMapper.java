@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookerDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 
@@ -11,8 +14,19 @@ public class BookingMapper {
                 .id(booking.getId())
                 .start(booking.getStart())
                 .end(booking.getEnd())
-                .item(booking.getItem())
-                .booker(booking.getBooker())
+                .item(new BookingItemDto(booking.getItem().getId(), booking.getItem().getName()))
+                .booker(new BookerDto(booking.getBooker().getId()))
+                .status(booking.getStatus())
+                .build();
+    }
+
+    public static BookingFullDto toBookingFullDto(BookingView booking) {
+        return BookingFullDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .item(new BookingItemDto(booking.getItemId(), booking.getItemName()))
+                .booker(new BookerDto(booking.getBookerId()))
                 .status(booking.getStatus())
                 .build();
     }
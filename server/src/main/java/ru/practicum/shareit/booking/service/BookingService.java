@@ -1,18 +1,34 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
-    Booking save(long userId, BookingDto bookingDto, Booking booking);
+    BookingFullDto save(long userId, BookingDto bookingDto, Booking booking);
 
-    Booking update(long userId, long bookingId, String approved);
+    BookingFullDto update(long userId, long bookingId, String approved);
 
-    Booking getBookingById(long userId, long bookingId);
+    List<BookingBatchResult> saveAll(long userId, List<BookingDto> bookingDtos);
 
-    List<Booking> getBookingsByBooker(long userId, String state, int from, int size);
+    List<BookingBatchResult> updateAll(long userId, List<Long> bookingIds, String approved);
 
-    List<Booking> getBookingsByOwner(long userId, String state, int from, int size);
+    BookingView getBookingById(long userId, long bookingId);
+
+    List<BookingView> getBookingsByBooker(long userId, String state, int from, int size);
+
+    List<BookingView> getBookingsByOwner(long userId, String state, int from, int size);
+
+    List<BookingView> getBookingsByBooker(long userId, String state, String cursor, int size);
+
+    List<BookingView> getBookingsByOwner(long userId, String state, String cursor, int size);
+
+    void exportBookingsByBooker(long userId, Consumer<List<BookingFullDto>> chunkConsumer);
+
+    void exportBookingsByOwner(long userId, Consumer<List<BookingFullDto>> chunkConsumer);
 }
@@ -4,12 +4,19 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResult;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.exception.*;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.VersionIncrementer;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.UpdateNotAvailableException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -17,139 +24,405 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final VersionIncrementer versionIncrementer;
+    private final BookingIntervalIndex bookingIntervalIndex;
 
     @Override
-    public Booking save(long userId, BookingDto bookingDto, Booking booking) {
+    @Transactional
+    public BookingFullDto save(long userId, BookingDto bookingDto, Booking booking) {
         User booker = userService.getUserById(userId);
         Item item = itemService.getItemById(bookingDto.getItemId());
-        if (item.getOwner().equals(booker)) {
-            throw new BookingByOwnerNotAvailableException(
-                    String.format("User with id %d is owner of item with id %d", userId, item.getId()));
-
-        }
-        if (item.getAvailable().equals(false)) {
-            throw new BookingNotAvailableException(
-                    String.format("Item with id %d is not available for booking", item.getId()));
-        }
-        if (booking.getStart().isAfter(booking.getEnd())
-                || booking.getStart().equals(booking.getEnd())) {
-            throw new DateSequenceException("End date must not be earlier than start date, dates must not be null");
-        }
+        checkBookingAvailability(booker, item, booking);
         booking.setItem(item);
+        booking.setItemOwnerId(item.getOwner().getId());
         booking.setBooker(booker);
-        return bookingRepository.save(booking);
+        return bookingIntervalIndex.executeWithItemLock(item.getId(), () -> {
+            bookingIntervalIndex.checkOverlap(item.getId(), booking.getStart(), booking.getEnd(), null);
+            return BookingMapper.toBookingFullDto(bookingRepository.save(booking));
+        });
     }
 
     @Override
-    public Booking update(long userId, long bookingId, String approved) {
+    @Transactional
+    public BookingFullDto update(long userId, long bookingId, String approved) {
         checkExistenceOfUser(userId);
-        Booking updatedBooking = getBookingById(userId, bookingId);
-        Item item = updatedBooking.getItem();
-        if (updatedBooking.getStatus().equals(Status.APPROVED)) {
-            throw new StatusChangingNotAvailableException("Booking is confirmed, status cannot be changed");
-        }
-        if (!item.getOwner().getId().equals(userId)) {
-            throw new UpdateNotAvailableException(
-                    String.format("User with id %d is not owner of item with id %d", userId, item.getId()));
-        }
-        switch (approved.toLowerCase()) {
-            case ("true"):
-                updatedBooking.setStatus(Status.APPROVED);
-                break;
-            case ("false"):
-                updatedBooking.setStatus(Status.REJECTED);
-                break;
-            default:
-                throw new UpdateNotAvailableException("Booking confirmation status must be TRUE or FALSE");
-        }
-        return bookingRepository.save(updatedBooking);
+        Long itemId = bookingRepository.findItemIdById(bookingId).orElseThrow(() -> new BookingNotFoundException(
+                String.format("Booking with id %d not found", bookingId))
+        );
+        return bookingIntervalIndex.executeWithItemLock(itemId, () -> {
+            Booking updatedBooking = getBooking(userId, bookingId);
+            checkStatusChangeAvailability(userId, updatedBooking);
+            Status status = toDecisionStatus(approved);
+            if (status == Status.APPROVED) {
+                bookingIntervalIndex.checkOverlap(
+                        itemId, updatedBooking.getStart(), updatedBooking.getEnd(), updatedBooking.getId());
+            }
+            updatedBooking.setStatus(status);
+            Booking savedBooking = bookingRepository.save(updatedBooking);
+            versionIncrementer.increment(updatedBooking.getItem());
+            if (status == Status.APPROVED) {
+                bookingIntervalIndex.addApproved(savedBooking);
+            }
+            return BookingMapper.toBookingFullDto(savedBooking);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> saveAll(long userId, List<BookingDto> bookingDtos) {
+        User booker = userService.getUserById(userId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemService.getItemsByIds(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return bookingIntervalIndex.executeWithItemLocks(itemIds, () -> {
+            BookingBatchResult[] results = new BookingBatchResult[bookingDtos.size()];
+            Booking[] bookings = new Booking[bookingDtos.size()];
+            List<Integer> candidateIndexes = new ArrayList<>();
+            for (int i = 0; i < bookingDtos.size(); i++) {
+                BookingDto bookingDto = bookingDtos.get(i);
+                Booking booking = BookingMapper.toBooking(bookingDto);
+                try {
+                    Item item = items.get(bookingDto.getItemId());
+                    if (item == null) {
+                        throw new ItemNotFoundException(
+                                String.format("Item with id %d not found", bookingDto.getItemId()));
+                    }
+                    checkBookingAvailability(booker, item, booking);
+                    bookingIntervalIndex.checkOverlap(item.getId(), booking.getStart(), booking.getEnd(), null);
+                    booking.setItem(item);
+                    booking.setItemOwnerId(item.getOwner().getId());
+                    booking.setBooker(booker);
+                    bookings[i] = booking;
+                    candidateIndexes.add(i);
+                } catch (ItemNotFoundException | BookingByOwnerNotAvailableException
+                         | BookingNotAvailableException | DateSequenceException | BookingOverlapException e) {
+                    results[i] = new BookingBatchResult(i, null, e.getMessage());
+                }
+            }
+            List<Integer> acceptedIndexes = rejectOverlapsWithinBatch(bookings, candidateIndexes, results);
+            List<Booking> accepted = new ArrayList<>();
+            for (int index : acceptedIndexes) {
+                accepted.add(bookings[index]);
+            }
+            List<Booking> savedBookings = bookingRepository.saveAll(accepted);
+            for (int i = 0; i < savedBookings.size(); i++) {
+                int index = acceptedIndexes.get(i);
+                results[index] = new BookingBatchResult(
+                        index, BookingMapper.toBookingFullDto(savedBookings.get(i)), null);
+            }
+            return Arrays.asList(results);
+        });
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResult> updateAll(long userId, List<Long> bookingIds, String approved) {
+        Status status = toDecisionStatus(approved);
+        checkExistenceOfUser(userId);
+        Set<Long> itemIds = new HashSet<>(bookingRepository.findItemIdsByIdIn(bookingIds));
+        return bookingIntervalIndex.executeWithItemLocks(itemIds, () -> {
+            Map<Long, Booking> bookings = bookingRepository.findAllWithItemByIdIn(bookingIds).stream()
+                    .collect(Collectors.toMap(Booking::getId, Function.identity()));
+            List<BookingBatchResult> results = new ArrayList<>();
+            List<Booking> accepted = new ArrayList<>();
+            Map<Long, Item> touchedItems = new HashMap<>();
+            for (int i = 0; i < bookingIds.size(); i++) {
+                Long bookingId = bookingIds.get(i);
+                try {
+                    Booking booking = bookings.get(bookingId);
+                    if (booking == null) {
+                        throw new BookingNotFoundException(
+                                String.format("Booking with id %d not found", bookingId));
+                    }
+                    checkStatusChangeAvailability(userId, booking);
+                    if (status == Status.APPROVED) {
+                        bookingIntervalIndex.checkOverlap(booking.getItem().getId(),
+                                booking.getStart(), booking.getEnd(), booking.getId());
+                        bookingIntervalIndex.addApproved(booking);
+                    }
+                    booking.setStatus(status);
+                    touchedItems.putIfAbsent(booking.getItem().getId(), booking.getItem());
+                    accepted.add(booking);
+                    results.add(new BookingBatchResult(i, BookingMapper.toBookingFullDto(booking), null));
+                } catch (BookingNotFoundException | UpdateNotAvailableException
+                         | StatusChangingNotAvailableException | BookingOverlapException e) {
+                    results.add(new BookingBatchResult(i, null, e.getMessage()));
+                }
+            }
+            bookingRepository.saveAll(accepted);
+            touchedItems.values().forEach(versionIncrementer::increment);
+            return results;
+        });
     }
 
     @Override
-    public Booking getBookingById(long userId, long bookingId) {
+    @Transactional(readOnly = true)
+    public BookingView getBookingById(long userId, long bookingId) {
         checkExistenceOfUser(userId);
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() -> new BookingNotFoundException(
+        BookingView booking = bookingRepository.findViewById(bookingId).orElseThrow(() -> new BookingNotFoundException(
                 String.format("Booking with id %d not found", bookingId))
         );
-        Item item = booking.getItem();
-        if (!(item.getOwner().getId().equals(userId) || booking.getBooker().getId().equals(userId))) {
-            throw new GettingNotAvailableException(
-                    String.format("User with id %d is not owner or booker of item with id %d", userId, item.getId()));
+        if (!(booking.getItemOwnerId().equals(userId) || booking.getBookerId().equals(userId))) {
+            throw new GettingNotAvailableException(String.format(
+                    "User with id %d is not owner or booker of item with id %d", userId, booking.getItemId()));
         }
         return booking;
     }
 
     @Override
-    public List<Booking> getBookingsByBooker(long userId, String state, int from, int size) {
-        User booker = userService.getUserById(userId);
+    @Transactional(readOnly = true)
+    public List<BookingView> getBookingsByBooker(long userId, String state, int from, int size) {
+        checkExistenceOfUser(userId);
         Pageable pageWithSomeElements = PageRequest.of(from > 0 ? from / size : 0, size);
         State valueState = State.valueOf(state.toUpperCase());
         switch (valueState) {
             case ALL:
-                return bookingRepository.findAllByBookerOrderByStartDesc(booker, pageWithSomeElements);
+                return bookingRepository.findAllByBooker(userId, EnumSet.allOf(Status.class), pageWithSomeElements);
             case CURRENT:
-                return bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(
-                        booker, LocalDateTime.now(), LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findCurrentByBooker(userId, LocalDateTime.now(), pageWithSomeElements);
             case PAST:
-                return bookingRepository.findAllByBookerAndStatusAndEndBeforeOrderByStartDesc(
-                        booker, Status.APPROVED, LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findPastByBooker(
+                        userId, Status.APPROVED, LocalDateTime.now(), pageWithSomeElements);
             case FUTURE:
-                return bookingRepository.findAllByBookerAndStatusInAndStartAfterOrderByStartDesc(
-                        booker, new HashSet<>(Arrays.asList(Status.APPROVED, Status.WAITING)),
-                        LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findFutureByBooker(
+                        userId, EnumSet.of(Status.APPROVED, Status.WAITING), LocalDateTime.now(), pageWithSomeElements);
             case WAITING:
-                return bookingRepository.findAllByBookerAndStatusOrderByStartDesc(
-                        booker, Status.WAITING, pageWithSomeElements);
+                return bookingRepository.findAllByBooker(userId, EnumSet.of(Status.WAITING), pageWithSomeElements);
             case REJECTED:
-                return bookingRepository.findAllByBookerAndStatusOrderByStartDesc(
-                        booker, Status.REJECTED, pageWithSomeElements);
+                return bookingRepository.findAllByBooker(userId, EnumSet.of(Status.REJECTED), pageWithSomeElements);
             default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
         }
     }
 
     @Override
-    public List<Booking> getBookingsByOwner(long userId, String state, int from, int size) {
+    @Transactional(readOnly = true)
+    public List<BookingView> getBookingsByOwner(long userId, String state, int from, int size) {
         checkExistenceOfUser(userId);
-        Set<Item> items = new HashSet<>(itemService.getItemsByOwner(userId));
         Pageable pageWithSomeElements = PageRequest.of(from > 0 ? from / size : 0, size);
         State valueState = State.valueOf(state.toUpperCase());
         switch (valueState) {
             case ALL:
-                return bookingRepository.findAllByItemInOrderByStartDesc(items, pageWithSomeElements);
+                return bookingRepository.findAllByOwner(userId, EnumSet.allOf(Status.class), pageWithSomeElements);
+            case CURRENT:
+                return bookingRepository.findCurrentByOwner(userId, LocalDateTime.now(), pageWithSomeElements);
+            case PAST:
+                return bookingRepository.findPastByOwner(
+                        userId, Status.APPROVED, LocalDateTime.now(), pageWithSomeElements);
+            case FUTURE:
+                return bookingRepository.findFutureByOwner(
+                        userId, EnumSet.of(Status.APPROVED, Status.WAITING), LocalDateTime.now(), pageWithSomeElements);
+            case WAITING:
+                return bookingRepository.findAllByOwner(userId, EnumSet.of(Status.WAITING), pageWithSomeElements);
+            case REJECTED:
+                return bookingRepository.findAllByOwner(userId, EnumSet.of(Status.REJECTED), pageWithSomeElements);
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingView> getBookingsByBooker(long userId, String state, String cursor, int size) {
+        checkExistenceOfUser(userId);
+        BookingCursor position = BookingCursor.decode(cursor);
+        Pageable firstPage = PageRequest.of(0, size);
+        State valueState = State.valueOf(state.toUpperCase());
+        switch (valueState) {
+            case ALL:
+                return bookingRepository.findAllByBookerAfterCursor(
+                        userId, EnumSet.allOf(Status.class), position.getStart(), position.getId(), firstPage);
             case CURRENT:
-                return bookingRepository.findAllByItemInAndStartBeforeAndEndAfterOrderByStartDesc(
-                        items, LocalDateTime.now(), LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findCurrentByBookerAfterCursor(
+                        userId, LocalDateTime.now(), position.getStart(), position.getId(), firstPage);
             case PAST:
-                return bookingRepository.findAllByItemInAndStatusAndEndBeforeOrderByStartDesc(
-                        items, Status.APPROVED, LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findPastByBookerAfterCursor(
+                        userId, Status.APPROVED, LocalDateTime.now(), position.getStart(), position.getId(), firstPage);
             case FUTURE:
-                return bookingRepository.findAllByItemInAndStatusInAndStartAfterOrderByStartDesc(
-                        items, new HashSet<>(Arrays.asList(Status.APPROVED, Status.WAITING)),
-                        LocalDateTime.now(), pageWithSomeElements);
+                return bookingRepository.findFutureByBookerAfterCursor(
+                        userId, EnumSet.of(Status.APPROVED, Status.WAITING), LocalDateTime.now(),
+                        position.getStart(), position.getId(), firstPage);
             case WAITING:
-                return bookingRepository.findAllByItemInAndStatusOrderByStartDesc(
-                        items, Status.WAITING, pageWithSomeElements);
+                return bookingRepository.findAllByBookerAfterCursor(
+                        userId, EnumSet.of(Status.WAITING), position.getStart(), position.getId(), firstPage);
             case REJECTED:
-                return bookingRepository.findAllByItemInAndStatusOrderByStartDesc(
-                        items, Status.REJECTED, pageWithSomeElements);
+                return bookingRepository.findAllByBookerAfterCursor(
+                        userId, EnumSet.of(Status.REJECTED), position.getStart(), position.getId(), firstPage);
             default:
                 throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingView> getBookingsByOwner(long userId, String state, String cursor, int size) {
+        checkExistenceOfUser(userId);
+        BookingCursor position = BookingCursor.decode(cursor);
+        Pageable firstPage = PageRequest.of(0, size);
+        State valueState = State.valueOf(state.toUpperCase());
+        switch (valueState) {
+            case ALL:
+                return bookingRepository.findAllByOwnerAfterCursor(
+                        userId, EnumSet.allOf(Status.class), position.getStart(), position.getId(), firstPage);
+            case CURRENT:
+                return bookingRepository.findCurrentByOwnerAfterCursor(
+                        userId, LocalDateTime.now(), position.getStart(), position.getId(), firstPage);
+            case PAST:
+                return bookingRepository.findPastByOwnerAfterCursor(
+                        userId, Status.APPROVED, LocalDateTime.now(), position.getStart(), position.getId(), firstPage);
+            case FUTURE:
+                return bookingRepository.findFutureByOwnerAfterCursor(
+                        userId, EnumSet.of(Status.APPROVED, Status.WAITING), LocalDateTime.now(),
+                        position.getStart(), position.getId(), firstPage);
+            case WAITING:
+                return bookingRepository.findAllByOwnerAfterCursor(
+                        userId, EnumSet.of(Status.WAITING), position.getStart(), position.getId(), firstPage);
+            case REJECTED:
+                return bookingRepository.findAllByOwnerAfterCursor(
+                        userId, EnumSet.of(Status.REJECTED), position.getStart(), position.getId(), firstPage);
+            default:
+                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookingsByBooker(long userId, Consumer<List<BookingFullDto>> chunkConsumer) {
+        checkExistenceOfUser(userId);
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByBookerId(userId)) {
+            export(bookings, chunkConsumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBookingsByOwner(long userId, Consumer<List<BookingFullDto>> chunkConsumer) {
+        checkExistenceOfUser(userId);
+        try (Stream<BookingView> bookings = bookingRepository.streamAllByItemOwnerId(userId)) {
+            export(bookings, chunkConsumer);
+        }
+    }
+
+    private void export(Stream<BookingView> bookings, Consumer<List<BookingFullDto>> chunkConsumer) {
+        List<BookingFullDto> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        Iterator<BookingView> iterator = bookings.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(BookingMapper.toBookingFullDto(iterator.next()));
+            if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                chunkConsumer.accept(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+        }
+    }
+
+    private Booking getBooking(long userId, long bookingId) {
+        Booking booking = bookingRepository.findWithItemById(bookingId).orElseThrow(() -> new BookingNotFoundException(
+                String.format("Booking with id %d not found", bookingId))
+        );
+        Item item = booking.getItem();
+        if (!(item.getOwner().getId().equals(userId) || booking.getBooker().getId().equals(userId))) {
+            throw new GettingNotAvailableException(
+                    String.format("User with id %d is not owner or booker of item with id %d", userId, item.getId()));
+        }
+        return booking;
+    }
+
+    private List<Integer> rejectOverlapsWithinBatch(Booking[] bookings, List<Integer> candidateIndexes,
+                                                    BookingBatchResult[] results) {
+        List<Integer> sortedIndexes = new ArrayList<>(candidateIndexes);
+        sortedIndexes.sort(Comparator.<Integer>comparingLong(index -> bookings[index].getItem().getId())
+                .thenComparing(index -> bookings[index].getStart())
+                .thenComparingInt(index -> index));
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        Booking latestEnding = null;
+        for (int index : sortedIndexes) {
+            Booking booking = bookings[index];
+            if (latestEnding != null && latestEnding.getItem().getId().equals(booking.getItem().getId())
+                    && latestEnding.getEnd().isAfter(booking.getStart())) {
+                results[index] = new BookingBatchResult(index, null, String.format(
+                        "Item with id %d is already booked from %s to %s",
+                        booking.getItem().getId(), latestEnding.getStart(), latestEnding.getEnd()));
+                continue;
+            }
+            if (latestEnding == null || !latestEnding.getItem().getId().equals(booking.getItem().getId())
+                    || booking.getEnd().isAfter(latestEnding.getEnd())) {
+                latestEnding = booking;
+            }
+            acceptedIndexes.add(index);
+        }
+        acceptedIndexes.sort(Comparator.naturalOrder());
+        return acceptedIndexes;
+    }
+
     private void checkExistenceOfUser(long userId) {
         userService.getUserById(userId);
     }
+
+    private void checkBookingAvailability(User booker, Item item, Booking booking) {
+        if (item.getOwner().getId().equals(booker.getId())) {
+            throw new BookingByOwnerNotAvailableException(
+                    String.format("User with id %d is owner of item with id %d", booker.getId(), item.getId()));
+
+        }
+        if (item.getAvailable().equals(false)) {
+            throw new BookingNotAvailableException(
+                    String.format("Item with id %d is not available for booking", item.getId()));
+        }
+        if (booking.getStart().isAfter(booking.getEnd())
+                || booking.getStart().equals(booking.getEnd())) {
+            throw new DateSequenceException("End date must not be earlier than start date, dates must not be null");
+        }
+    }
+
+    private void checkStatusChangeAvailability(long userId, Booking booking) {
+        Item item = booking.getItem();
+        if (booking.getStatus().equals(Status.APPROVED)) {
+            throw new StatusChangingNotAvailableException("Booking is confirmed, status cannot be changed");
+        }
+        if (!item.getOwner().getId().equals(userId)) {
+            throw new UpdateNotAvailableException(
+                    String.format("User with id %d is not owner of item with id %d", userId, item.getId()));
+        }
+    }
+
+    private Status toDecisionStatus(String approved) {
+        switch (approved.toLowerCase()) {
+            case ("true"):
+                return Status.APPROVED;
+            case ("false"):
+                return Status.REJECTED;
+            default:
+                throw new UpdateNotAvailableException("Booking confirmation status must be TRUE or FALSE");
+        }
+    }
 }
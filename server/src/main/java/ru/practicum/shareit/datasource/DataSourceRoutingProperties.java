@@ -0,0 +1,16 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.datasource")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+    private final DataSourceProperties replica = new DataSourceProperties();
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
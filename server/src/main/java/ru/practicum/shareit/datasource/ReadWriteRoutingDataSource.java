@@ -0,0 +1,57 @@
+package ru.practicum.shareit.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Map<DataSourceRole, Counter> routed = new EnumMap<>(DataSourceRole.class);
+    private volatile Counter pinned;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReadYourWritesTracker readYourWritesTracker) {
+        this.readYourWritesTracker = readYourWritesTracker;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(DataSourceRole.PRIMARY, primary);
+        targets.put(DataSourceRole.REPLICA, replica);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        for (DataSourceRole role : DataSourceRole.values()) {
+            routed.put(role, meterRegistry.counter("shareit.datasource.connections.routed",
+                    "pool", role.name().toLowerCase()));
+        }
+        pinned = meterRegistry.counter("shareit.datasource.read.your.writes.pinned");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        DataSourceRole role = DataSourceRole.PRIMARY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (readYourWritesTracker.isCurrentUserPinned()) {
+                increment(pinned);
+            } else {
+                role = DataSourceRole.REPLICA;
+            }
+        }
+        increment(routed.get(role));
+        return role;
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+public final class EntityTags {
+    private static final Pattern TAG_PATTERN = Pattern.compile("\\*|\\s*((W/)?(\"[^\"]*\"))\\s*,?");
+
+    private EntityTags() {
+    }
+
+    public static boolean matches(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        Matcher matcher = TAG_PATTERN.matcher(ifNoneMatch);
+        while (matcher.find()) {
+            if (entityTag.equals(matcher.group(3))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static String of(Object... parts) {
+        return of(Arrays.asList(parts));
+    }
+
+    public static String of(Collection<?> parts) {
+        String value = parts.stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static String ofVersions(List<? extends EntityVersion> versions) {
+        return of(versions.stream()
+                .map(version -> version.getId() + "v" + version.getVersion())
+                .collect(Collectors.toList()));
+    }
+}
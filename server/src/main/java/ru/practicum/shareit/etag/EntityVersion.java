@@ -0,0 +1,7 @@
+package ru.practicum.shareit.etag;
+
+public interface EntityVersion {
+    Long getId();
+
+    Long getVersion();
+}
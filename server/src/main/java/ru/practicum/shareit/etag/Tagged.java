@@ -0,0 +1,11 @@
+package ru.practicum.shareit.etag;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Tagged<T> {
+    private final String entityTag;
+    private final T body;
+}
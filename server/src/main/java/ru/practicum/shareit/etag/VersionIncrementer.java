@@ -0,0 +1,17 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+
+@Component
+public class VersionIncrementer {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void increment(Object entity) {
+        entityManager.lock(entity, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+}
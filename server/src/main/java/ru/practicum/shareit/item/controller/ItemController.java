@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import ru.practicum.shareit.booking.service.BookingMapper;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.Tagged;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -12,8 +14,8 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.CommentMapper;
 import ru.practicum.shareit.item.service.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.sql.SqlStatementBudget;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -25,53 +27,29 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
+    @SqlStatementBudget(6)
     public List<ItemDto> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @RequestParam(defaultValue = "0") int from,
-                                         @RequestParam(defaultValue = "10") int size) {
-        List<ItemDto> itemsByOwner = new ArrayList<>();
-        List<CommentDto> commentsByItem = new ArrayList<>();
-        for (Item item : itemService.getItemsByOwner(userId, from, size)) {
-            ItemDto itemDto = ItemMapper.toItemDto(item);
-            if (itemService.getLastBookingByItem(item) != null) {
-                itemDto.setLastBooking(BookingMapper.toBookingDto(
-                        itemService.getLastBookingByItem(item)));
-            }
-            if (itemService.getNextBookingByItem(item) != null) {
-                itemDto.setNextBooking(BookingMapper.toBookingDto(
-                        itemService.getNextBookingByItem(item)));
-            }
-            for (Comment comment : itemService.findCommentsByItem(item)) {
-                CommentDto commentDto = CommentMapper.toCommentDto(comment);
-                commentsByItem.add(commentDto);
-            }
-            itemDto.setComments(commentsByItem);
-            itemsByOwner.add(itemDto);
+                                         @RequestParam(defaultValue = "10") int size,
+                                         WebRequest request) {
+        Tagged<List<ItemDto>> items = itemService.getItemsByOwner(
+                userId, from, size, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        if (request.checkNotModified(items.getEntityTag())) {
+            return null;
         }
-        return itemsByOwner;
+        return items.getBody();
     }
 
     @GetMapping("/{itemId}")
+    @SqlStatementBudget(5)
     public ItemDto getItemById(@RequestHeader("X-Sharer-User-Id") long userId,
-                               @PathVariable long itemId) {
-        Item item = itemService.getItemById(itemId);
-        ItemDto itemDto = ItemMapper.toItemDto(item);
-        if (itemService.getLastBookingByItem(item) != null && item.getOwner().getId().equals(userId)) {
-            itemDto.setLastBooking(BookingMapper.toBookingDto(
-                    itemService.getLastBookingByItem(item)));
+                               @PathVariable long itemId,
+                               WebRequest request) {
+        Tagged<ItemDto> item = itemService.getItemById(userId, itemId, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        if (request.checkNotModified(item.getEntityTag())) {
+            return null;
         }
-        if (itemService.getNextBookingByItem(item) != null && item.getOwner().getId().equals(userId)) {
-            itemDto.setNextBooking(BookingMapper.toBookingDto(
-                    itemService.getNextBookingByItem(item)));
-        }
-        List<CommentDto> commentsByItem = new ArrayList<>();
-        if (itemService.findCommentsByItem(item) != null) {
-            for (Comment comment : itemService.findCommentsByItem(item)) {
-                CommentDto commentDto = CommentMapper.toCommentDto(comment);
-                commentsByItem.add(commentDto);
-            }
-            itemDto.setComments(commentsByItem);
-        }
-        return itemDto;
+        return item.getBody();
     }
 
     @PostMapping
@@ -79,7 +57,7 @@ public class ItemController {
                             @RequestBody ItemDto itemDto) {
         Item item = ItemMapper.toItem(itemDto);
         log.info("Item is being created");
-        return ItemMapper.toItemDto(itemService.saveItem(userId, itemDto, item));
+        return itemService.saveItem(userId, itemDto, item);
     }
 
     @PatchMapping("/{itemId}")
@@ -88,18 +66,21 @@ public class ItemController {
                               @RequestBody ItemDto itemDto) {
         Item item = ItemMapper.toItem(itemDto);
         log.info("Item is being updated");
-        return ItemMapper.toItemDto(itemService.updateItem(userId, itemId, item));
+        return itemService.updateItem(userId, itemId, item);
     }
 
     @GetMapping("/search")
+    @SqlStatementBudget(1)
     public List<ItemDto> search(@RequestParam String text,
                                 @RequestParam(defaultValue = "0") int from,
-                                @RequestParam(defaultValue = "10") int size) {
-        List<ItemDto> items = new ArrayList<>();
-        for (Item item : itemService.search(text, from, size)) {
-            items.add(ItemMapper.toItemDto(item));
+                                @RequestParam(defaultValue = "10") int size,
+                                WebRequest request) {
+        Tagged<List<ItemDto>> items = itemService.search(
+                text, from, size, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        if (request.checkNotModified(items.getEntityTag())) {
+            return null;
         }
-        return items;
+        return items.getBody();
     }
 
     @PostMapping("/{itemId}/comment")
@@ -108,6 +89,6 @@ public class ItemController {
                                   @RequestBody CommentDto commentDto) {
         Comment comment = CommentMapper.toComment(commentDto);
         log.info("Comment is being created");
-        return CommentMapper.toCommentDto(itemService.saveComment(userId, itemId, comment));
+        return itemService.saveComment(userId, itemId, comment);
     }
 }
@@ -3,15 +3,19 @@ package ru.practicum.shareit.item.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.item.dto.ItemSearchEntry;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 
-public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerOrderById(User owner);
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
+public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findAllByOwnerOrderById(User owner, Pageable pageable);
 
     @Query("select it " +
@@ -21,5 +25,18 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
             " it.available = true")
     List<Item> search(String text, Pageable pageable);
 
-    List<Item> findAllByRequest(ItemRequest itemRequestId);
+    @Query("select it.id as id, it.name as name, it.description as description, it.available as available " +
+            "from Item as it")
+    List<ItemSearchEntry> findAllSearchEntries();
+
+    @Query("select it.id from Item as it where it.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query("select it.id as id, it.name as name, it.description as description, it.available as available," +
+            " it.request.id as requestId " +
+            "from Item as it " +
+            "where it.request.id in ?1 " +
+            "order by it.id")
+    List<ItemShort> findAllShortByRequestIdIn(Collection<Long> requestIds);
 }
@@ -0,0 +1,226 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemSearchEntry;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.search.index", havingValue = "memory", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+    private final LongPostingList allIds = new LongPostingList();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ItemSearchEntry> entries;
+        lock.writeLock().lock();
+        try {
+            entries = itemRepository.findAllSearchEntries();
+            indexedItems.clear();
+            postings.clear();
+            allIds.clear();
+            for (ItemSearchEntry entry : entries) {
+                add(entry.getId(), new IndexedItem(normalize(entry.getName()), normalize(entry.getDescription()),
+                        Boolean.TRUE.equals(entry.getAvailable())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index is built: {} items, {} grams", entries.size(), postings.size());
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem indexedItem = new IndexedItem(normalize(item.getName()), normalize(item.getDescription()),
+                Boolean.TRUE.equals(item.getAvailable()));
+        long id = item.getId();
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(id);
+                add(id, indexedItem);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public void remove(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(itemIds);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Long id : ids) {
+                    remove(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        String query = normalize(text);
+        long[] nameMatches;
+        long[] descriptionMatches;
+        int nameMatchCount = 0;
+        int descriptionMatchCount = 0;
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(query);
+            nameMatches = new long[candidates.length];
+            descriptionMatches = new long[candidates.length];
+            for (long candidate : candidates) {
+                IndexedItem indexedItem = indexedItems.get(candidate);
+                if (!indexedItem.available) {
+                    continue;
+                }
+                if (indexedItem.name.contains(query)) {
+                    nameMatches[nameMatchCount++] = candidate;
+                } else if (indexedItem.description.contains(query)) {
+                    descriptionMatches[descriptionMatchCount++] = candidate;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int offset = (from > 0 ? from / size : 0) * size;
+        List<Long> pageIds = new ArrayList<>();
+        for (int rank = offset; rank < nameMatchCount + descriptionMatchCount && pageIds.size() < size; rank++) {
+            pageIds.add(rank < nameMatchCount ? nameMatches[rank] : descriptionMatches[rank - nameMatchCount]);
+        }
+        if (pageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Item> itemsById = itemRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> items = new ArrayList<>();
+        for (Long id : pageIds) {
+            Item item = itemsById.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    private long[] findCandidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return allIds.toArray();
+        }
+        Set<String> grams = gramsOf(query);
+        LongPostingList[] lists = new LongPostingList[grams.size()];
+        int index = 0;
+        for (String gram : grams) {
+            LongPostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists[index++] = list;
+        }
+        LongPostingList shortest = Arrays.stream(lists)
+                .min(Comparator.comparingInt(LongPostingList::size))
+                .orElseThrow();
+        return shortest.intersect(lists);
+    }
+
+    private void add(long id, IndexedItem indexedItem) {
+        indexedItems.put(id, indexedItem);
+        allIds.add(id);
+        for (String gram : indexedItem.grams()) {
+            postings.computeIfAbsent(gram, key -> new LongPostingList()).add(id);
+        }
+    }
+
+    private void remove(long id) {
+        IndexedItem indexedItem = indexedItems.remove(id);
+        if (indexedItem == null) {
+            return;
+        }
+        allIds.remove(id);
+        for (String gram : indexedItem.grams()) {
+            LongPostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    @AllArgsConstructor
+    private static class IndexedItem {
+        private final String name;
+        private final String description;
+        private final boolean available;
+
+        private Set<String> grams() {
+            Set<String> grams = gramsOf(name);
+            grams.addAll(gramsOf(description));
+            return grams;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.model.Item;
 
 public class ItemMapper {
@@ -17,6 +18,19 @@ public class ItemMapper {
         );
     }
 
+    public static ItemDto toItemDto(ItemShort item) {
+        return new ItemDto(
+                item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId(),
+                null,
+                null,
+                null
+        );
+    }
+
     public static Item toItem(ItemDto itemDto) {
         return new Item(
                 null,
@@ -24,6 +38,7 @@ public class ItemMapper {
                 itemDto.getDescription(),
                 itemDto.getAvailable(),
                 null,
+                null,
                 null
         );
     }
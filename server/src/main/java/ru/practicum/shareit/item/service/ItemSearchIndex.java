@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemSearchIndex {
+    List<Item> search(String text, int from, int size);
+
+    void index(Item item);
+
+    void remove(Collection<Long> itemIds);
+}
@@ -1,33 +1,28 @@
 package ru.practicum.shareit.item.service;
 
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
-    List<Item> getItemsByOwner(Long userId);
+    Tagged<List<ItemDto>> getItemsByOwner(Long userId, int from, int size, String ifNoneMatch);
 
-    List<Item> getItemsByOwner(Long userId, int from, int size);
+    Tagged<ItemDto> getItemById(Long userId, Long itemId, String ifNoneMatch);
 
     Item getItemById(Long itemId);
 
-    Item saveItem(Long userId, ItemDto itemDto, Item item);
+    List<Item> getItemsByIds(Collection<Long> itemIds);
 
-    Item updateItem(Long userId, Long itemId, Item item);
+    ItemDto saveItem(Long userId, ItemDto itemDto, Item item);
 
-    List<Item> search(String text, int from, int size);
+    ItemDto updateItem(Long userId, Long itemId, Item item);
 
-    Booking getLastBookingByItem(Item item);
+    Tagged<List<ItemDto>> search(String text, int from, int size, String ifNoneMatch);
 
-    Booking getNextBookingByItem(Item item);
-
-    Comment saveComment(Long userId, Long itemId, Comment comment);
-
-    List<Comment> findCommentsByItem(Item item);
-
-    List<Item> findItemsByRequest(ItemRequest itemRequestId);
+    CommentDto saveComment(Long userId, Long itemId, Comment comment);
 }
@@ -4,9 +4,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.Tagged;
+import ru.practicum.shareit.etag.VersionIncrementer;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.exception.CommentNotAvailableException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
@@ -16,14 +21,15 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
-import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -33,21 +39,31 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemViewAssembler itemViewAssembler;
+    private final VersionIncrementer versionIncrementer;
 
     @Override
-    public List<Item> getItemsByOwner(Long userId) {
+    @Transactional(readOnly = true)
+    public Tagged<List<ItemDto>> getItemsByOwner(Long userId, int from, int size, String ifNoneMatch) {
         User owner = userService.getUserById(userId);
-        return itemRepository.findAllByOwnerOrderById(owner);
+        Pageable pageWithSomeElements = PageRequest.of(from > 0 ? from / size : 0, size);
+        List<Item> items = itemRepository.findAllByOwnerOrderById(owner, pageWithSomeElements);
+        return tagged(itemViewAssembler.getEntityTag(items, true), ifNoneMatch,
+                () -> itemViewAssembler.toItemDtos(items, true));
     }
 
     @Override
-    public List<Item> getItemsByOwner(Long userId, int from, int size) {
-        User owner = userService.getUserById(userId);
-        Pageable pageWithSomeElements = PageRequest.of(from > 0 ? from / size : 0, size);
-        return itemRepository.findAllByOwnerOrderById(owner, pageWithSomeElements);
+    @Transactional(readOnly = true)
+    public Tagged<ItemDto> getItemById(Long userId, Long itemId, String ifNoneMatch) {
+        Item item = getItemById(itemId);
+        boolean isOwner = item.getOwner().getId().equals(userId);
+        return tagged(itemViewAssembler.getEntityTag(item, isOwner), ifNoneMatch,
+                () -> itemViewAssembler.toItemDto(item, isOwner));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Item getItemById(Long itemId) {
         return itemRepository.findById(itemId).orElseThrow(() -> new ItemNotFoundException(
                 String.format("Item with id %d not found", itemId))
@@ -55,7 +71,14 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public Item saveItem(Long userId, ItemDto itemDto, Item item) {
+    @Transactional(readOnly = true)
+    public List<Item> getItemsByIds(Collection<Long> itemIds) {
+        return itemRepository.findAllById(itemIds);
+    }
+
+    @Override
+    @Transactional
+    public ItemDto saveItem(Long userId, ItemDto itemDto, Item item) {
         User owner = userService.getUserById(userId);
         item.setOwner(owner);
         if (itemDto.getRequestId() != null) {
@@ -63,11 +86,17 @@ public class ItemServiceImpl implements ItemService {
                     .orElseThrow(() -> new ItemRequestNotFoundException(
                             String.format("ItemRequest with id %d not found", itemDto.getRequestId()))));
         }
-        return itemRepository.save(item);
+        Item savedItem = itemRepository.save(item);
+        if (savedItem.getRequest() != null) {
+            versionIncrementer.increment(savedItem.getRequest());
+        }
+        itemSearchIndex.index(savedItem);
+        return ItemMapper.toItemDto(savedItem);
     }
 
     @Override
-    public Item updateItem(Long userId, Long itemId, Item item) {
+    @Transactional
+    public ItemDto updateItem(Long userId, Long itemId, Item item) {
         User owner = userService.getUserById(userId);
         Item updatedItem = getItemById(itemId);
         if (updatedItem.getOwner().getId().equals(userId)) {
@@ -82,7 +111,14 @@ public class ItemServiceImpl implements ItemService {
                 item.setAvailable(updatedItem.getAvailable());
             }
             item.setOwner(owner);
-            return itemRepository.save(item);
+            item.setRequest(updatedItem.getRequest());
+            item.setVersion(updatedItem.getVersion());
+            Item savedItem = itemRepository.save(item);
+            if (savedItem.getRequest() != null) {
+                versionIncrementer.increment(savedItem.getRequest());
+            }
+            itemSearchIndex.index(savedItem);
+            return ItemMapper.toItemDto(savedItem);
         } else {
             throw new UpdateNotAvailableException(
                     String.format("User with id %d is not owner of item with id %d", userId, itemId));
@@ -90,28 +126,21 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<Item> search(String text, int from, int size) {
-        if (!text.isEmpty()) {
-            Pageable pageWithSomeElements = PageRequest.of(from > 0 ? from / size : 0, size);
-            return itemRepository.search(text, pageWithSomeElements);
-        }
-        return new ArrayList<>();
-    }
-
-    @Override
-    public Booking getLastBookingByItem(Item item) {
-        return bookingRepository.findFirstByItemAndStatusAndStartBeforeOrderByStartDesc(
-                item, Status.APPROVED, LocalDateTime.now());
-    }
-
-    @Override
-    public Booking getNextBookingByItem(Item item) {
-        return bookingRepository.findFirstByItemAndStatusAndStartAfterOrderByStart(
-                item, Status.APPROVED, LocalDateTime.now());
+    @Transactional(readOnly = true)
+    public Tagged<List<ItemDto>> search(String text, int from, int size, String ifNoneMatch) {
+        List<Item> foundItems = text.isEmpty() ? new ArrayList<>() : itemSearchIndex.search(text, from, size);
+        return tagged(itemViewAssembler.getEntityTag(foundItems, false), ifNoneMatch, () -> {
+            List<ItemDto> items = new ArrayList<>();
+            for (Item item : foundItems) {
+                items.add(ItemMapper.toItemDto(item));
+            }
+            return items;
+        });
     }
 
     @Override
-    public Comment saveComment(Long userId, Long itemId, Comment comment) {
+    @Transactional
+    public CommentDto saveComment(Long userId, Long itemId, Comment comment) {
         User author = userService.getUserById(userId);
         Item item = getItemById(itemId);
         Booking booking = bookingRepository.findFirstByItemAndBookerAndStatusAndEndBefore(
@@ -120,19 +149,15 @@ public class ItemServiceImpl implements ItemService {
             comment.setItem(item);
             comment.setAuthor(author);
             comment.setCreated(LocalDateTime.now());
-            return commentRepository.save(comment);
+            Comment savedComment = commentRepository.save(comment);
+            versionIncrementer.increment(item);
+            return CommentMapper.toCommentDto(savedComment);
         }
         throw new CommentNotAvailableException(String.format(
                 "User with id %d is not booker of item with id %d or booking is not over yet", userId, itemId));
     }
 
-    @Override
-    public List<Comment> findCommentsByItem(Item item) {
-        return commentRepository.findAllByItem(item);
-    }
-
-    @Override
-    public List<Item> findItemsByRequest(ItemRequest itemRequestId) {
-        return itemRepository.findAllByRequest(itemRequestId);
+    private static <T> Tagged<T> tagged(String entityTag, String ifNoneMatch, Supplier<T> body) {
+        return new Tagged<>(entityTag, EntityTags.matches(ifNoneMatch, entityTag) ? null : body.get());
     }
 }
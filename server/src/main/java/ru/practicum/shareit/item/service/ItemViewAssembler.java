@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.ItemBookingStart;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingMapper;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ItemViewAssembler {
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    @Transactional(readOnly = true)
+    public List<ItemDto> toItemDtos(List<Item> items, boolean withBookings) {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        if (withBookings) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Booking booking : bookingRepository.findLastBookingsByItemIds(itemIds, Status.APPROVED, now)) {
+                lastBookings.putIfAbsent(booking.getItem().getId(), booking);
+            }
+            for (Booking booking : bookingRepository.findNextBookingsByItemIds(itemIds, Status.APPROVED, now)) {
+                nextBookings.putIfAbsent(booking.getItem().getId(), booking);
+            }
+        }
+        Map<Long, List<CommentDto>> comments = new HashMap<>();
+        for (Comment comment : commentRepository.findAllByItemIdIn(itemIds)) {
+            comments.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>())
+                    .add(CommentMapper.toCommentDto(comment));
+        }
+
+        List<ItemDto> itemDtos = new ArrayList<>();
+        for (Item item : items) {
+            ItemDto itemDto = ItemMapper.toItemDto(item);
+            Booking lastBooking = lastBookings.get(item.getId());
+            if (lastBooking != null) {
+                itemDto.setLastBooking(BookingMapper.toBookingDto(lastBooking));
+            }
+            Booking nextBooking = nextBookings.get(item.getId());
+            if (nextBooking != null) {
+                itemDto.setNextBooking(BookingMapper.toBookingDto(nextBooking));
+            }
+            itemDto.setComments(comments.getOrDefault(item.getId(), new ArrayList<>()));
+            itemDtos.add(itemDto);
+        }
+        return itemDtos;
+    }
+
+    @Transactional(readOnly = true)
+    public ItemDto toItemDto(Item item, boolean withBookings) {
+        return toItemDtos(List.of(item), withBookings).get(0);
+    }
+
+    @Transactional(readOnly = true)
+    public String getEntityTag(List<Item> items, boolean withBookings) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(withBookings);
+        for (Item item : items) {
+            parts.add(item.getId() + "v" + item.getVersion());
+        }
+        if (withBookings && !items.isEmpty()) {
+            Set<Long> itemIds = items.stream()
+                    .map(Item::getId)
+                    .collect(Collectors.toSet());
+            Map<Long, LocalDateTime> nextStarts = new HashMap<>();
+            for (ItemBookingStart start : bookingRepository.findNextStartsByItemIds(
+                    itemIds, Status.APPROVED, LocalDateTime.now())) {
+                nextStarts.put(start.getItemId(), start.getStart());
+            }
+            for (Item item : items) {
+                parts.add(nextStarts.get(item.getId()));
+            }
+        }
+        return EntityTags.of(parts);
+    }
+
+    @Transactional(readOnly = true)
+    public String getEntityTag(Item item, boolean withBookings) {
+        return getEntityTag(List.of(item), withBookings);
+    }
+}
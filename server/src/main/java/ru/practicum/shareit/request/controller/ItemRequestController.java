@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.sql.SqlStatementBudget;
 
 import java.util.List;
 
@@ -27,20 +29,35 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getItemRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") long userId) {
+    @SqlStatementBudget(4)
+    public List<ItemRequestDto> getItemRequestsByRequestor(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                           WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getEntityTagByRequestor(userId))) {
+            return null;
+        }
         return itemRequestService.getAllByRequestor(userId);
     }
 
     @GetMapping("/all")
+    @SqlStatementBudget(4)
     public List<ItemRequestDto> getItemRequests(@RequestHeader("X-Sharer-User-Id") long userId,
                                                 @RequestParam(defaultValue = "0") int from,
-                                                @RequestParam(defaultValue = "10") int size) {
+                                                @RequestParam(defaultValue = "10") int size,
+                                                WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getEntityTagByRequestor(userId, from, size))) {
+            return null;
+        }
         return itemRequestService.getAllByRequestor(userId, from, size);
     }
 
     @GetMapping("{requestId}")
+    @SqlStatementBudget(4)
     public ItemRequestDto getItemRequestById(@RequestHeader("X-Sharer-User-Id") long userId,
-                                             @PathVariable long requestId) {
+                                             @PathVariable long requestId,
+                                             WebRequest request) {
+        if (request.checkNotModified(itemRequestService.getEntityTagById(userId, requestId))) {
+            return null;
+        }
         return itemRequestService.getItemRequestById(userId, requestId);
     }
 }
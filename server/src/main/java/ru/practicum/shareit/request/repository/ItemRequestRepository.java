@@ -2,13 +2,32 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.etag.EntityVersion;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorOrderByCreated(User requestor);
 
     List<ItemRequest> findAllByRequestorNot(User requestor, Pageable pageable);
+
+    @Query("select r.id as id, r.version as version " +
+            "from ItemRequest as r " +
+            "where r.requestor.id = ?1 " +
+            "order by r.created")
+    List<EntityVersion> findVersionsByRequestorId(Long requestorId);
+
+    @Query("select r.id as id, r.version as version " +
+            "from ItemRequest as r " +
+            "where r.requestor.id <> ?1")
+    List<EntityVersion> findVersionsByRequestorIdNot(Long requestorId, Pageable pageable);
+
+    @Query("select r.id as id, r.version as version " +
+            "from ItemRequest as r " +
+            "where r.id = ?1")
+    Optional<EntityVersion> findVersionById(Long requestId);
 }
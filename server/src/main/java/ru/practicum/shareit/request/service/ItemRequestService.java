@@ -12,4 +12,10 @@ public interface ItemRequestService {
     List<ItemRequestDto> getAllByRequestor(long userId, int from, int size);
 
     ItemRequestDto getItemRequestById(long userId, long requestId);
+
+    String getEntityTagByRequestor(long userId);
+
+    String getEntityTagByRequestor(long userId, int from, int size);
+
+    String getEntityTagById(long userId, long requestId);
 }
@@ -5,22 +5,26 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.EntityTags;
+import ru.practicum.shareit.etag.EntityVersion;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.dto.ItemShort;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,9 +32,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
     private final UserService userService;
-    private final UserRepository userRepository;
 
     @Override
+    @Transactional
     public ItemRequestDto save(long userId, ItemRequestDto itemRequestDto) {
         User requestor = userService.getUserById(userId);
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto);
@@ -40,61 +44,72 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllByRequestor(long userId) {
         User requestor = userService.getUserById(userId);
-        List<ItemRequestDto> itemRequestsByRequestor = new ArrayList<>();
-        for (ItemRequest itemRequest : itemRequestRepository.findAllByRequestorOrderByCreated(requestor)) {
-            ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-            List<ItemDto> itemsByRequest = new ArrayList<>();
-            if (itemRepository.findAllByRequest(itemRequest) != null) {
-                for (Item item : itemRepository.findAllByRequest(itemRequest)) {
-                    ItemDto itemDto = ItemMapper.toItemDto(item);
-                    itemsByRequest.add(itemDto);
-                }
-                itemRequestDto.setItems(itemsByRequest);
-            }
-            itemRequestsByRequestor.add(itemRequestDto);
-        }
-        return itemRequestsByRequestor;
+        return toItemRequestDtos(itemRequestRepository.findAllByRequestorOrderByCreated(requestor));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAllByRequestor(long userId, int from, int size) {
         User requestor = userService.getUserById(userId);
         Pageable pageWithSomeElements = PageRequest.of(
                 from > 0 ? from / size : 0, size, Sort.by("created").descending());
-        List<ItemRequestDto> itemRequests = new ArrayList<>();
-        for (ItemRequest itemRequest : itemRequestRepository.findAllByRequestorNot(requestor, pageWithSomeElements)) {
-            ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-            List<ItemDto> itemsByRequest = new ArrayList<>();
-            if (itemRepository.findAllByRequest(itemRequest) != null) {
-                for (Item item : itemRepository.findAllByRequest(itemRequest)) {
-                    ItemDto itemDto = ItemMapper.toItemDto(item);
-                    itemsByRequest.add(itemDto);
-                }
-                itemRequestDto.setItems(itemsByRequest);
-            }
-            itemRequests.add(itemRequestDto);
-        }
-        return itemRequests;
+        return toItemRequestDtos(itemRequestRepository.findAllByRequestorNot(requestor, pageWithSomeElements));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto getItemRequestById(long userId, long requestId) {
-        if (userRepository.existsById(userId)) {
-            ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> new ItemRequestNotFoundException(
-                    String.format("ItemRequest with id %d not found", requestId)));
-            ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-            List<ItemDto> itemsByRequest = new ArrayList<>();
-            if (itemRepository.findAllByRequest(itemRequest) != null) {
-                for (Item item : itemRepository.findAllByRequest(itemRequest)) {
-                    ItemDto itemDto = ItemMapper.toItemDto(item);
-                    itemsByRequest.add(itemDto);
-                }
-                itemRequestDto.setItems(itemsByRequest);
+        userService.getUserById(userId);
+        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(() -> new ItemRequestNotFoundException(
+                String.format("ItemRequest with id %d not found", requestId)));
+        return toItemRequestDtos(List.of(itemRequest)).get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEntityTagByRequestor(long userId) {
+        userService.getUserById(userId);
+        return EntityTags.ofVersions(itemRequestRepository.findVersionsByRequestorId(userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEntityTagByRequestor(long userId, int from, int size) {
+        userService.getUserById(userId);
+        Pageable pageWithSomeElements = PageRequest.of(
+                from > 0 ? from / size : 0, size, Sort.by("created").descending());
+        return EntityTags.ofVersions(itemRequestRepository.findVersionsByRequestorIdNot(userId, pageWithSomeElements));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getEntityTagById(long userId, long requestId) {
+        userService.getUserById(userId);
+        EntityVersion version = itemRequestRepository.findVersionById(requestId).orElseThrow(
+                () -> new ItemRequestNotFoundException(String.format("ItemRequest with id %d not found", requestId)));
+        return EntityTags.ofVersions(List.of(version));
+    }
+
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        Map<Long, List<ItemDto>> itemsByRequest = new HashMap<>();
+        if (!itemRequests.isEmpty()) {
+            List<Long> requestIds = itemRequests.stream()
+                    .map(ItemRequest::getId)
+                    .collect(Collectors.toList());
+            for (ItemShort item : itemRepository.findAllShortByRequestIdIn(requestIds)) {
+                itemsByRequest.computeIfAbsent(item.getRequestId(), id -> new ArrayList<>())
+                        .add(ItemMapper.toItemDto(item));
             }
-            return itemRequestDto;
         }
-        throw new UserNotFoundException(String.format("User with id %d not found", userId));
+        List<ItemRequestDto> itemRequestDtos = new ArrayList<>();
+        for (ItemRequest itemRequest : itemRequests) {
+            ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+            itemRequestDto.setItems(itemsByRequest.getOrDefault(itemRequest.getId(), new ArrayList<>()));
+            itemRequestDtos.add(itemRequestDto);
+        }
+        return itemRequestDtos;
     }
 }
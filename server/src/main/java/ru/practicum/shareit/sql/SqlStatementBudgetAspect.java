@@ -0,0 +1,43 @@
+package ru.practicum.shareit.sql;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+
+@Aspect
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementBudgetAspect {
+    private final SqlStatementProperties properties;
+
+    @Around("@annotation(budget)")
+    public Object checkBudget(ProceedingJoinPoint joinPoint, SqlStatementBudget budget) throws Throwable {
+        Object result = joinPoint.proceed();
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics != null && statistics.getExecutionCount() > budget.value()) {
+            String message = String.format("%s executed %d SQL statements, budget is %d",
+                    joinPoint.getSignature().toShortString(), statistics.getExecutionCount(), budget.value());
+            if (properties.isStrictBudget() && !isResponseCommitted()) {
+                throw new SqlStatementBudgetExceededException(message);
+            }
+            log.warn(message);
+        }
+        return result;
+    }
+
+    private static boolean isResponseCommitted() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        return response != null && response.isCommitted();
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.sql;
+
+public class SqlStatementBudgetExceededException extends RuntimeException {
+    public SqlStatementBudgetExceededException(String message) {
+        super(message);
+    }
+}
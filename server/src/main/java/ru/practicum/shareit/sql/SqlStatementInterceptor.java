@@ -0,0 +1,67 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+@Slf4j
+public class SqlStatementInterceptor implements HandlerInterceptor {
+    public static final String REQUEST_STATEMENTS = "shareit.request.sql.statements";
+    public static final String REQUEST_SQL_TIME = "shareit.request.sql.time";
+    public static final String REPEATED_STATEMENTS = "shareit.request.sql.repeated";
+
+    private final SqlStatementProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementStatistics.start(RequestContextHolder.currentRequestAttributes());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        String uri = uriTemplate(request);
+        long sqlMillis = TimeUnit.NANOSECONDS.toMillis(statistics.getExecutionNanos());
+        log.info("{} {} executed {} SQL statements in {} ms",
+                request.getMethod(), request.getRequestURI(), statistics.getExecutionCount(), sqlMillis);
+        DistributionSummary.builder(REQUEST_STATEMENTS)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getExecutionCount());
+        Timer.builder(REQUEST_SQL_TIME)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(statistics.getExecutionNanos(), TimeUnit.NANOSECONDS);
+        Map<String, Integer> repeated = statistics.getRepeatedStatements(properties.getRepeatedStatementThreshold());
+        repeated.forEach((sql, count) -> log.warn("Possible N+1 in {} {}: statement executed {} times: {}",
+                request.getMethod(), request.getRequestURI(), count, sql));
+        if (!repeated.isEmpty()) {
+            meterRegistry.counter(REPEATED_STATEMENTS, "method", request.getMethod(), "uri", uri)
+                    .increment(repeated.size());
+        }
+    }
+
+    private static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
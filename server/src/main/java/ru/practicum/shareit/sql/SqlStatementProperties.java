@@ -0,0 +1,13 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "shareit.sql")
+@Getter
+@Setter
+public class SqlStatementProperties {
+    private int repeatedStatementThreshold = 3;
+    private boolean strictBudget = false;
+}
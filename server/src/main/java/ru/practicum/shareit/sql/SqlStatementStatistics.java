@@ -0,0 +1,52 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SqlStatementStatistics {
+    private static final String ATTRIBUTE = SqlStatementStatistics.class.getName();
+
+    private final Map<String, Integer> preparedStatements = new HashMap<>();
+    @Getter
+    private int executionCount;
+    @Getter
+    private long executionNanos;
+
+    public static SqlStatementStatistics start(RequestAttributes attributes) {
+        SqlStatementStatistics statistics = new SqlStatementStatistics();
+        attributes.setAttribute(ATTRIBUTE, statistics, RequestAttributes.SCOPE_REQUEST);
+        return statistics;
+    }
+
+    public static SqlStatementStatistics current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        return (SqlStatementStatistics) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    public void recordPrepared(String sql) {
+        preparedStatements.merge(sql, 1, Integer::sum);
+    }
+
+    public void recordExecution(long nanos) {
+        executionCount++;
+        executionNanos += nanos;
+    }
+
+    public Map<String, Integer> getRepeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        preparedStatements.forEach((sql, count) -> {
+            if (count >= threshold) {
+                repeated.put(sql, count);
+            }
+        });
+        return repeated;
+    }
+}
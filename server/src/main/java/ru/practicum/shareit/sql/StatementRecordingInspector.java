@@ -0,0 +1,14 @@
+package ru.practicum.shareit.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class StatementRecordingInspector implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics != null) {
+            statistics.recordPrepared(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.practicum.shareit.user.model.User;
+
+@Configuration
+public class UserCacheConfig {
+    @Bean
+    public Cache<Long, User> userCache(@Value("${shareit.cache.users.spec}") String spec, MeterRegistry meterRegistry) {
+        Cache<Long, User> cache = Caffeine.from(spec).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+        return cache;
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@Component
+public class UserRequestMemo {
+    private static final String ATTRIBUTE = UserRequestMemo.class.getName();
+
+    public User get(Long id, Supplier<User> loader) {
+        Map<Long, User> memo = memo();
+        if (memo == null) {
+            return loader.get();
+        }
+        User user = memo.get(id);
+        if (user == null) {
+            user = loader.get();
+            memo.put(id, user);
+        }
+        return user;
+    }
+
+    public void evict(Long id) {
+        Map<Long, User> memo = memo();
+        if (memo != null) {
+            memo.remove(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, User> memo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, User> memo = (Map<Long, User>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
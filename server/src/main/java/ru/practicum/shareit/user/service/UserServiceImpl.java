@@ -1,35 +1,61 @@
 package ru.practicum.shareit.user.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.exception.UserNotFoundException;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemSearchIndex itemSearchIndex;
+    private final Cache<Long, User> userCache;
+    private final UserRequestMemo userRequestMemo;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> getUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
-        return userRepository.findById(id).orElseThrow(() -> new UserNotFoundException(
-                String.format("User with id %d not found", id)));
+        return userRequestMemo.get(id, () -> userCache.get(id, key -> userRepository.findById(key)
+                .orElseThrow(() -> new UserNotFoundException(String.format("User with id %d not found", key)))));
     }
 
     @Override
+    @Transactional
     public User saveUser(User user) {
         return userRepository.save(user);
     }
 
     @Override
+    @Transactional
     public User updateUser(Long id, User user) {
         User updatedUser = getUserById(id);
         user.setId(id);
@@ -39,11 +65,47 @@ public class UserServiceImpl implements UserService {
         if (user.getEmail() == null) {
             user.setEmail(updatedUser.getEmail());
         }
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        afterCommit(() -> {
+            userCache.put(id, savedUser);
+            userRequestMemo.evict(id);
+        });
+        return savedUser;
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> bookedItemIds = bookingRepository.findItemIdsByBookerId(id, Status.APPROVED, LocalDateTime.now());
         userRepository.deleteById(id);
+        itemSearchIndex.remove(itemIds);
+        afterCommit(() -> {
+            userCache.invalidate(id);
+            userRequestMemo.evict(id);
+            bookingIntervalIndex.evict(itemIds);
+            bookingIntervalIndex.evict(bookedItemIds);
+            evictCascadedEntities();
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evictCascadedEntities() {
+        entityManagerFactory.getCache().evict(Item.class);
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+        entityManagerFactory.getCache().evict(Comment.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
     }
 }
@@ -0,0 +1,8 @@
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS item_owner_id BIGINT;
+
+UPDATE bookings SET item_owner_id = (SELECT items.owner_id FROM items WHERE items.id = bookings.item_id)
+WHERE item_owner_id IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN item_owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS bookings_owner_start_id_idx ON bookings (item_owner_id, start_date DESC, id DESC);
@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS bookings_item_approved_end_idx ON bookings (item_id, end_date) WHERE status = 'APPROVED';
+CREATE INDEX IF NOT EXISTS bookings_waiting_item_start_idx ON bookings (item_id, start_date DESC) WHERE status = 'WAITING';
@@ -0,0 +1,11 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 1, false) FROM users;
+SELECT setval('requests_seq', COALESCE(MAX(id), 0) + 1, false) FROM requests;
+SELECT setval('items_seq', COALESCE(MAX(id), 0) + 1, false) FROM items;
+SELECT setval('bookings_seq', COALESCE(MAX(id), 0) + 1, false) FROM bookings;
+SELECT setval('comments_seq', COALESCE(MAX(id), 0) + 1, false) FROM comments;
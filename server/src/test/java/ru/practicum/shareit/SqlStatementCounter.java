@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+
+public class SqlStatementCounter {
+    private final EntityManagerFactory entityManagerFactory;
+    private final Cache<Long, User> userCache;
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory, Cache<Long, User> userCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.userCache = userCache;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long countColdStatements(Action action) throws Exception {
+        userCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        return countStatements(action);
+    }
+
+    public long countStatements(Action action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    public interface Action {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class TestData {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+
+    public TestData(UserRepository userRepository, ItemRepository itemRepository,
+                    BookingRepository bookingRepository, CommentRepository commentRepository) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.commentRepository = commentRepository;
+    }
+
+    public User user() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@example.com")
+                .build());
+    }
+
+    public Item item(User owner) {
+        return item(owner, null);
+    }
+
+    public Item item(User owner, ItemRequest request) {
+        return itemRepository.save(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+    }
+
+    public Booking booking(Item item, User booker, LocalDateTime start, LocalDateTime end, Status status) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .itemOwnerId(item.getOwner().getId())
+                .booker(booker)
+                .start(start)
+                .end(end)
+                .status(status)
+                .build());
+    }
+
+    public Comment comment(Item item, User author) {
+        return commentRepository.save(Comment.builder()
+                .item(item)
+                .author(author)
+                .text("Great drill")
+                .created(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerBatchTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void batchRejectsBookingsOverlappingEachOther() throws Exception {
+        User booker = testData.user();
+        Item item = testData.item(testData.user());
+        Item otherItem = testData.item(testData.user());
+        LocalDateTime day = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        String body = "[" +
+                booking(item, day.plusDays(3), day.plusDays(5)) + "," +
+                booking(item, day, day.plusDays(10)) + "," +
+                booking(otherItem, day, day.plusDays(10)) + "," +
+                booking(item, day.plusDays(10), day.plusDays(11)) + "," +
+                booking(item, day.plusDays(1), day.plusDays(2)) +
+                "]";
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking").doesNotExist())
+                .andExpect(jsonPath("$[0].error").exists())
+                .andExpect(jsonPath("$[1].booking.id").exists())
+                .andExpect(jsonPath("$[2].booking.id").exists())
+                .andExpect(jsonPath("$[3].booking.id").exists())
+                .andExpect(jsonPath("$[4].booking").doesNotExist())
+                .andExpect(jsonPath("$[4].error").exists());
+    }
+
+    private static String booking(Item item, LocalDateTime start, LocalDateTime end) {
+        return "{\"itemId\":" + item.getId() + ",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}";
+    }
+}
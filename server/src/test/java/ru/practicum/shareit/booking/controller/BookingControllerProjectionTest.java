@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerProjectionTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void bookingIsReturnedInCompactShape() throws Exception {
+        User owner = testData.user();
+        User booker = testData.user();
+        Item item = testData.item(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = testData.booking(item, booker, start, start.plusDays(1), Status.WAITING);
+
+        mockMvc.perform(get("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(booking.getId()))
+                .andExpect(jsonPath("$.status").value("WAITING"))
+                .andExpect(jsonPath("$.item", aMapWithSize(2)))
+                .andExpect(jsonPath("$.item.id").value(item.getId()))
+                .andExpect(jsonPath("$.item.name").value(item.getName()))
+                .andExpect(jsonPath("$.booker", aMapWithSize(1)))
+                .andExpect(jsonPath("$.booker.id").value(booker.getId()));
+    }
+
+    @Test
+    void bookerListingReadsBookingsInOneQuery() throws Exception {
+        User booker = testData.user();
+        Item item = testData.item(testData.user());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 10; i++) {
+            Item bookedItem = i % 2 == 0 ? item : testData.item(testData.user());
+            testData.booking(bookedItem, booker, start.plusDays(i), start.plusDays(i).plusHours(1), Status.WAITING);
+        }
+
+        long statements = counter.countColdStatements(() -> mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[0].item", aMapWithSize(2)))
+                .andExpect(jsonPath("$[0].booker", aMapWithSize(1))));
+
+        assertThat(statements).isEqualTo(2);
+    }
+}
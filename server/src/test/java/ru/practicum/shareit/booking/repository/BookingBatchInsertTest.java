@@ -0,0 +1,98 @@
+package ru.practicum.shareit.booking.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingBatchInsertTest {
+    private static final int ROWS = 100;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void idsAreAssignedFromSequenceBeforeInsert() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Item item = testData.item(testData.user());
+        User booker = testData.user();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            long inserts = statistics.getEntityInsertCount();
+            Booking booking = bookingRepository.save(newBooking(item, booker, 0));
+
+            assertThat(booking.getId()).isNotNull();
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(inserts);
+        });
+    }
+
+    @Test
+    void bulkInsertIsBatched() throws Exception {
+        Item item = testData.item(testData.user());
+        User booker = testData.user();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            bookings.add(newBooking(item, booker, i));
+        }
+
+        long statements = counter.countColdStatements(() ->
+                transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings)));
+
+        assertThat(bookings).allSatisfy(booking -> assertThat(booking.getId()).isNotNull());
+        assertThat(statements).isLessThanOrEqualTo(ROWS / 50 * 2 + 2);
+    }
+
+    private static Booking newBooking(Item item, User booker, int hours) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).plusHours(hours);
+        return Booking.builder()
+                .item(item)
+                .itemOwnerId(item.getOwner().getId())
+                .booker(booker)
+                .start(start)
+                .end(start.plusMinutes(30))
+                .status(Status.WAITING)
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingApprovalConcurrencyTest {
+    private static final int ROUNDS = 20;
+    private static final int CONTENDERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private TestData testData;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        executor = Executors.newFixedThreadPool(CONTENDERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingBookingsAdmitOnlyOne() throws Exception {
+        User owner = testData.user();
+        User booker = testData.user();
+        for (int round = 0; round < ROUNDS; round++) {
+            Item item = testData.item(owner);
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            List<Booking> bookings = new ArrayList<>();
+            for (int i = 0; i < CONTENDERS; i++) {
+                bookings.add(testData.booking(item, booker, start.plusHours(i), start.plusDays(1).plusHours(i),
+                        Status.WAITING));
+            }
+
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (Booking booking : bookings) {
+                Callable<Integer> approval = () -> {
+                    startGate.await();
+                    return mockMvc.perform(patch("/bookings/{bookingId}", booking.getId())
+                                    .header("X-Sharer-User-Id", owner.getId())
+                                    .param("approved", "true"))
+                            .andReturn().getResponse().getStatus();
+                };
+                responses.add(executor.submit(approval));
+            }
+            startGate.countDown();
+
+            int approved = 0;
+            for (Future<Integer> response : responses) {
+                if (response.get() == 200) {
+                    approved++;
+                }
+            }
+            assertThat(approved).isEqualTo(1);
+            assertThat(bookingRepository.findAllById(idsOf(bookings)))
+                    .filteredOn(booking -> booking.getStatus() == Status.APPROVED)
+                    .hasSize(1);
+        }
+    }
+
+    private static List<Long> idsOf(List<Booking> bookings) {
+        List<Long> ids = new ArrayList<>();
+        for (Booking booking : bookings) {
+            ids.add(booking.getId());
+        }
+        return ids;
+    }
+}
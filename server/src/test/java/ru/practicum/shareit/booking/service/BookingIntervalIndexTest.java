@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingIntervalIndexTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void approvalIsRejectedWhenStoredApprovedBookingsOverlap() throws Exception {
+        User owner = testData.user();
+        User booker = testData.user();
+        Item item = testData.item(owner);
+        LocalDateTime now = LocalDateTime.now();
+        testData.booking(item, booker, now.plusDays(1), now.plusDays(10), Status.APPROVED);
+        testData.booking(item, booker, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        Booking waiting = testData.booking(item, booker, now.plusDays(5), now.plusDays(6), Status.WAITING);
+
+        approve(owner, waiting)
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deletedBookerNoLongerBlocksTheirInterval() throws Exception {
+        User owner = testData.user();
+        User deletedBooker = testData.user();
+        User booker = testData.user();
+        Item item = testData.item(owner);
+        LocalDateTime now = LocalDateTime.now();
+        Booking approved = testData.booking(item, deletedBooker, now.plusDays(1), now.plusDays(3), Status.WAITING);
+        approve(owner, approved)
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/users/{userId}", deletedBooker.getId()))
+                .andExpect(status().isOk());
+        Booking waiting = testData.booking(item, booker, now.plusDays(1), now.plusDays(3), Status.WAITING);
+
+        approve(owner, waiting)
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions approve(User owner, Booking booking) throws Exception {
+        return mockMvc.perform(patch("/bookings/{bookingId}", booking.getId())
+                .param("approved", "true")
+                .header("X-Sharer-User-Id", owner.getId()));
+    }
+}
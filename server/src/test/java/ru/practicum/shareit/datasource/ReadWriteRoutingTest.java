@@ -0,0 +1,141 @@
+package ru.practicum.shareit.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "replica-h2"})
+class ReadWriteRoutingTest {
+    private static final String REPLICA_URL = "jdbc:h2:mem:shareit-replica;DB_CLOSE_DELAY=-1";
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private Cache<Long, User> userCache;
+    @Value("${shareit.datasource.read-your-writes-window}")
+    private Duration readYourWritesWindow;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "test", "test")
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnReplica() throws Exception {
+        long userId = 1_000_000L;
+        replica().update("insert into users (id, name, email) values (?, ?, ?)",
+                userId, "Replica", UUID.randomUUID() + "@example.com");
+        double routedBefore = routedToReplica();
+
+        mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica"));
+
+        assertThat(routedToReplica()).isGreaterThan(routedBefore);
+    }
+
+    @Test
+    void writesRunOnPrimary() throws Exception {
+        long userId = saveUser();
+
+        assertThat(countUsers(new JdbcTemplate(primaryDataSource), userId)).isEqualTo(1);
+        assertThat(countUsers(replica(), userId)).isZero();
+    }
+
+    @Test
+    void writerIsPinnedToPrimaryForReadYourWritesWindow() throws Exception {
+        long ownerId = saveUser();
+        long itemId = saveItem(ownerId);
+
+        clearCaches();
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(status().isOk());
+        clearCaches();
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId + 1))
+                .andExpect(status().isNotFound());
+
+        Thread.sleep(readYourWritesWindow.plusMillis(500).toMillis());
+        clearCaches();
+        mockMvc.perform(get("/items/{itemId}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(status().isNotFound());
+    }
+
+    private long saveUser() throws Exception {
+        String name = UUID.randomUUID().toString();
+        String response = mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"email\":\"" + name + "@example.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private long saveItem(long ownerId) throws Exception {
+        String response = mockMvc.perform(post("/items")
+                        .header(USER_HEADER, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("id").asLong();
+    }
+
+    private double routedToReplica() {
+        return meterRegistry.get("shareit.datasource.connections.routed").tag("pool", "replica").counter().count();
+    }
+
+    private void clearCaches() {
+        userCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private static JdbcTemplate replica() {
+        return new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "test", "test"));
+    }
+
+    private static int countUsers(JdbcTemplate jdbcTemplate, long userId) {
+        Integer count = jdbcTemplate.queryForObject("select count(*) from users where id = ?", Integer.class, userId);
+        return count == null ? 0 : count;
+    }
+}
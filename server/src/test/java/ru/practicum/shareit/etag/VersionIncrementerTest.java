@@ -0,0 +1,93 @@
+package ru.practicum.shareit.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class VersionIncrementerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestData testData;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+    }
+
+    @Test
+    void approvalBumpsItemVersionWithoutEvictingOtherItems() throws Exception {
+        User owner = testData.user();
+        Item item = testData.item(owner);
+        Item otherItem = testData.item(owner);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking booking = testData.booking(item, testData.user(), start, start.plusDays(1), Status.WAITING);
+        itemRepository.findById(otherItem.getId());
+        assertThat(entityManagerFactory.getCache().contains(Item.class, otherItem.getId())).isTrue();
+
+        mockMvc.perform(patch("/bookings/{bookingId}", booking.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("approved", "true"))
+                .andExpect(status().isOk());
+
+        assertThat(itemRepository.findById(item.getId()).orElseThrow().getVersion())
+                .isEqualTo(item.getVersion() + 1);
+        assertThat(entityManagerFactory.getCache().contains(Item.class, otherItem.getId())).isTrue();
+    }
+
+    @Test
+    void itemUpdateBumpsRequestVersion() throws Exception {
+        User owner = testData.user();
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(testData.user())
+                .created(LocalDateTime.now())
+                .build());
+        Item item = testData.item(owner, request);
+
+        mockMvc.perform(patch("/items/{itemId}", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Hammer\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(itemRequestRepository.findById(request.getId()).orElseThrow().getVersion())
+                .isEqualTo(request.getVersion() + 1);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerQueryCountTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void getItemsByOwnerIssuesSameStatementCountForAnyPageSize() throws Exception {
+        User booker = testData.user();
+        User smallOwner = ownerWithItems(1, booker);
+        User largeOwner = ownerWithItems(10, booker);
+
+        long small = counter.countColdStatements(() -> mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", smallOwner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1)));
+        long large = counter.countColdStatements(() -> mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", largeOwner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10))
+                .andExpect(jsonPath("$[9].lastBooking").exists())
+                .andExpect(jsonPath("$[9].nextBooking").exists())
+                .andExpect(jsonPath("$[9].comments.length()").value(1)));
+
+        assertThat(large).isEqualTo(small);
+        assertThat(large).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void matchingEntityTagSkipsBookingAndCommentQueries() throws Exception {
+        User owner = ownerWithItems(3, testData.user());
+        String entityTag = mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long notModified = counter.countColdStatements(() -> mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag))
+                .andExpect(status().isNotModified()));
+
+        assertThat(notModified).isEqualTo(3);
+    }
+
+    private User ownerWithItems(int count, User booker) {
+        User owner = testData.user();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = testData.item(owner);
+            testData.booking(item, booker, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+            testData.booking(item, booker, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+            testData.comment(item, booker);
+        }
+        return owner;
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class QueryCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void commentsOfItemsAreCachedUntilCommentIsAdded() throws Exception {
+        User author = testData.user();
+        Item item = testData.item(testData.user());
+        testData.comment(item, author);
+        List<Long> itemIds = List.of(item.getId());
+
+        long cold = counter.countColdStatements(() -> commentRepository.findAllByItemIdIn(itemIds));
+        long warm = counter.countStatements(() -> commentRepository.findAllByItemIdIn(itemIds));
+        testData.comment(item, author);
+
+        assertThat(cold).isEqualTo(1);
+        assertThat(warm).isZero();
+        assertThat(commentRepository.findAllByItemIdIn(itemIds)).hasSize(2);
+    }
+
+    @Test
+    void itemsOfRequestsAreCachedUntilItemIsAdded() throws Exception {
+        User owner = testData.user();
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(testData.user())
+                .created(LocalDateTime.now())
+                .build());
+        testData.item(owner, request);
+        List<Long> requestIds = List.of(request.getId());
+
+        long cold = counter.countColdStatements(() -> itemRepository.findAllShortByRequestIdIn(requestIds));
+        long warm = counter.countStatements(() -> itemRepository.findAllShortByRequestIdIn(requestIds));
+        testData.item(owner, request);
+
+        assertThat(cold).isEqualTo(1);
+        assertThat(warm).isZero();
+        assertThat(itemRepository.findAllShortByRequestIdIn(requestIds)).hasSize(2);
+    }
+}
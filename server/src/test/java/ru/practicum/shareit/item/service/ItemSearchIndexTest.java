@@ -0,0 +1,66 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemSearchIndexTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void searchDropsItemsOfDeletedOwner() throws Exception {
+        String marker = UUID.randomUUID().toString();
+        User deletedOwner = saveUser();
+        User owner = saveUser();
+        saveItem(deletedOwner, "Drill " + marker);
+        saveItem(owner, "Drill " + marker);
+
+        mockMvc.perform(delete("/users/{userId}", deletedOwner.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/items/search").param("text", marker).param("from", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void searchMatchesRegardlessOfCase() throws Exception {
+        String marker = UUID.randomUUID().toString();
+        saveItem(saveUser(), "Title " + marker);
+
+        mockMvc.perform(get("/items/search").param("text", "title " + marker.toUpperCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    private User saveUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+    }
+
+    private void saveItem(User owner, String name) throws Exception {
+        mockMvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\",\"description\":\"Cordless\",\"available\":true}"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,233 @@
+package ru.practicum.shareit.migration;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.sql.SqlStatementStatistics;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int USERS = 50;
+    private static final int ITEMS = 300;
+    private static final int REQUESTS = 100;
+    private static final int BOOKINGS = 3000;
+    private static final Set<String> FULL_SCANS_BY_DESIGN = Set.of("requests by other users");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Random random = new Random(42);
+    private User user;
+    private Item item;
+    private ItemRequest request;
+    private Booking booking;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String name = UUID.randomUUID().toString();
+            users.add(User.builder().name(name).email(name + "@example.com").build());
+        }
+        users = userRepository.saveAll(users);
+        List<ItemRequest> requests = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requests.add(ItemRequest.builder()
+                    .description("Need a drill")
+                    .requestor(pick(users))
+                    .created(now.minusDays(random.nextInt(365)))
+                    .build());
+        }
+        requests = itemRequestRepository.saveAll(requests);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            items.add(Item.builder()
+                    .name("Drill " + i)
+                    .description("Cordless drill")
+                    .available(true)
+                    .owner(pick(users))
+                    .request(random.nextInt(3) == 0 ? pick(requests) : null)
+                    .build());
+        }
+        items = itemRepository.saveAll(items);
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item bookedItem = pick(items);
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 730) - 24 * 365);
+            bookings.add(Booking.builder()
+                    .item(bookedItem)
+                    .itemOwnerId(bookedItem.getOwner().getId())
+                    .booker(pick(users))
+                    .start(start)
+                    .end(start.plusDays(1 + random.nextInt(14)))
+                    .status(Status.values()[random.nextInt(Status.values().length)])
+                    .build());
+            if (i % 10 == 0) {
+                comments.add(Comment.builder()
+                        .item(bookedItem)
+                        .author(pick(users))
+                        .text("Great drill")
+                        .created(now)
+                        .build());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.saveAll(bookings));
+        commentRepository.saveAll(comments);
+        jdbcTemplate.execute("ANALYZE");
+
+        user = users.get(0);
+        item = items.get(0);
+        request = requests.get(0);
+        booking = bookings.get(0);
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        LocalDateTime now = LocalDateTime.now();
+        Long userId = user.getId();
+        Long itemId = item.getId();
+        Set<Status> allStatuses = EnumSet.allOf(Status.class);
+        Set<Status> futureStatuses = EnumSet.of(Status.APPROVED, Status.WAITING);
+        Pageable page = PageRequest.of(0, 10);
+        Pageable requestPage = PageRequest.of(0, 10, Sort.by("created").descending());
+        List<Long> itemIds = List.of(itemId, itemId + 1, itemId + 2);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("booking with item", () -> bookingRepository.findWithItemById(booking.getId()));
+        queries.put("bookings with items", () -> bookingRepository.findAllWithItemByIdIn(List.of(booking.getId())));
+        queries.put("booking item id", () -> bookingRepository.findItemIdById(booking.getId()));
+        queries.put("booking item ids", () -> bookingRepository.findItemIdsByIdIn(List.of(booking.getId())));
+        queries.put("booked item ids by booker", () -> bookingRepository.findItemIdsByBookerId(
+                userId, Status.APPROVED, now));
+        queries.put("booking view", () -> bookingRepository.findViewById(booking.getId()));
+        queries.put("booker all", () -> bookingRepository.findAllByBooker(userId, allStatuses, page));
+        queries.put("booker current", () -> bookingRepository.findCurrentByBooker(userId, now, page));
+        queries.put("booker past", () -> bookingRepository.findPastByBooker(userId, Status.APPROVED, now, page));
+        queries.put("booker future", () -> bookingRepository.findFutureByBooker(userId, futureStatuses, now, page));
+        queries.put("booker all cursor", () -> bookingRepository.findAllByBookerAfterCursor(
+                userId, allStatuses, now, Long.MAX_VALUE, page));
+        queries.put("booker current cursor", () -> bookingRepository.findCurrentByBookerAfterCursor(
+                userId, now, now, Long.MAX_VALUE, page));
+        queries.put("booker past cursor", () -> bookingRepository.findPastByBookerAfterCursor(
+                userId, Status.APPROVED, now, now, Long.MAX_VALUE, page));
+        queries.put("booker future cursor", () -> bookingRepository.findFutureByBookerAfterCursor(
+                userId, futureStatuses, now, now, Long.MAX_VALUE, page));
+        queries.put("owner all", () -> bookingRepository.findAllByOwner(userId, allStatuses, page));
+        queries.put("owner current", () -> bookingRepository.findCurrentByOwner(userId, now, page));
+        queries.put("owner past", () -> bookingRepository.findPastByOwner(userId, Status.APPROVED, now, page));
+        queries.put("owner future", () -> bookingRepository.findFutureByOwner(userId, futureStatuses, now, page));
+        queries.put("owner all cursor", () -> bookingRepository.findAllByOwnerAfterCursor(
+                userId, allStatuses, now, Long.MAX_VALUE, page));
+        queries.put("owner current cursor", () -> bookingRepository.findCurrentByOwnerAfterCursor(
+                userId, now, now, Long.MAX_VALUE, page));
+        queries.put("owner past cursor", () -> bookingRepository.findPastByOwnerAfterCursor(
+                userId, Status.APPROVED, now, now, Long.MAX_VALUE, page));
+        queries.put("owner future cursor", () -> bookingRepository.findFutureByOwnerAfterCursor(
+                userId, futureStatuses, now, now, Long.MAX_VALUE, page));
+        queries.put("last bookings", () -> bookingRepository.findLastBookingsByItemIds(itemIds, Status.APPROVED, now));
+        queries.put("next bookings", () -> bookingRepository.findNextBookingsByItemIds(itemIds, Status.APPROVED, now));
+        queries.put("next starts", () -> bookingRepository.findNextStartsByItemIds(itemIds, Status.APPROVED, now));
+        queries.put("approved intervals", () -> bookingRepository.findIntervalsByItemId(itemId, Status.APPROVED, now));
+        queries.put("comment eligibility", () -> bookingRepository.findFirstByItemAndBookerAndStatusAndEndBefore(
+                item, user, Status.APPROVED, now));
+        queries.put("booker export", () -> {
+            try (Stream<?> bookings = bookingRepository.streamAllByBookerId(userId)) {
+                bookings.count();
+            }
+        });
+        queries.put("owner export", () -> {
+            try (Stream<?> bookings = bookingRepository.streamAllByItemOwnerId(userId)) {
+                bookings.count();
+            }
+        });
+        queries.put("items by owner", () -> itemRepository.findAllByOwnerOrderById(user, page));
+        queries.put("item ids by owner", () -> itemRepository.findIdsByOwnerId(userId));
+        queries.put("items by requests", () -> itemRepository.findAllShortByRequestIdIn(List.of(request.getId())));
+        queries.put("comments by items", () -> commentRepository.findAllByItemIdIn(itemIds));
+        queries.put("requests by requestor", () -> itemRequestRepository.findAllByRequestorOrderByCreated(user));
+        queries.put("requests by other users", () -> itemRequestRepository.findAllByRequestorNot(user, requestPage));
+        queries.put("request versions by requestor", () -> itemRequestRepository.findVersionsByRequestorId(userId));
+        queries.put("request version", () -> itemRequestRepository.findVersionById(request.getId()));
+
+        Map<String, String> scans = new LinkedHashMap<>();
+        queries.forEach((name, query) -> {
+            List<String> plans = explain(query);
+            assertThat(plans).as(name).isNotEmpty();
+            for (String plan : plans) {
+                if (plan.contains(".tableScan") && !FULL_SCANS_BY_DESIGN.contains(name)) {
+                    scans.put(name, plan);
+                }
+            }
+        });
+        assertThat(scans).isEmpty();
+    }
+
+    private List<String> explain(Runnable query) {
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        SqlStatementStatistics statistics = SqlStatementStatistics.start(attributes);
+        try {
+            transactionTemplate.executeWithoutResult(status -> query.run());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        List<String> plans = new ArrayList<>();
+        for (String sql : statistics.getRepeatedStatements(1).keySet()) {
+            plans.add(jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class));
+        }
+        return plans;
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
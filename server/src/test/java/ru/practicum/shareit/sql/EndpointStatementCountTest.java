@@ -0,0 +1,145 @@
+package ru.practicum.shareit.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointStatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void endpointsIssueExactStatementCounts() throws Exception {
+        User owner = testData.user();
+        User booker = testData.user();
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(booker)
+                .created(LocalDateTime.now())
+                .build());
+        Item item = testData.item(owner, request);
+        testData.item(owner);
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = testData.booking(item, booker, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        testData.booking(item, booker, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        Booking waiting = testData.booking(item, booker, now.plusDays(5), now.plusDays(6), Status.WAITING);
+        testData.comment(item, booker);
+        String marker = UUID.randomUUID().toString();
+        itemSearchIndex.index(itemRepository.save(
+                Item.builder().name(marker).description("Drill").available(true).owner(owner).build()));
+
+        Map<String, RequestBuilder> requests = new LinkedHashMap<>();
+        Map<String, Long> expected = new LinkedHashMap<>();
+        requests.put("GET /items", get("/items")
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /items", 6L);
+        requests.put("GET /items/{id} as owner", get("/items/{itemId}", item.getId())
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /items/{id} as owner", 5L);
+        requests.put("GET /items/{id} as booker", get("/items/{itemId}", item.getId())
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /items/{id} as booker", 2L);
+        requests.put("GET /items/search", get("/items/search")
+                .param("text", marker));
+        expected.put("GET /items/search", 1L);
+        requests.put("GET /requests", get("/requests")
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /requests", 4L);
+        requests.put("GET /requests/all", get("/requests/all")
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /requests/all", 4L);
+        requests.put("GET /requests/{id}", get("/requests/{requestId}", request.getId())
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /requests/{id}", 4L);
+        requests.put("GET /bookings/{id}", get("/bookings/{bookingId}", past.getId())
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /bookings/{id}", 2L);
+        requests.put("GET /bookings", get("/bookings")
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /bookings", 2L);
+        requests.put("GET /bookings/owner", get("/bookings/owner")
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /bookings/owner", 2L);
+        requests.put("GET /bookings with cursor", get("/bookings")
+                .param("cursor", "")
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /bookings with cursor", 2L);
+        requests.put("GET /bookings/export", get("/bookings/export")
+                .header(USER_HEADER, booker.getId()));
+        expected.put("GET /bookings/export", 2L);
+        requests.put("GET /bookings/owner/export", get("/bookings/owner/export")
+                .header(USER_HEADER, owner.getId()));
+        expected.put("GET /bookings/owner/export", 2L);
+        requests.put("GET /users/{id}", get("/users/{userId}", owner.getId()));
+        expected.put("GET /users/{id}", 1L);
+        requests.put("PATCH /bookings/{id}", patch("/bookings/{bookingId}", waiting.getId())
+                .param("approved", "false")
+                .header(USER_HEADER, owner.getId()));
+        expected.put("PATCH /bookings/{id}", 5L);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, RequestBuilder> endpoint : requests.entrySet()) {
+            counts.put(endpoint.getKey(), counter.countColdStatements(() -> mockMvc.perform(endpoint.getValue())
+                    .andExpect(status().isOk())));
+        }
+        assertThat(counts).containsExactlyEntriesOf(expected);
+    }
+}
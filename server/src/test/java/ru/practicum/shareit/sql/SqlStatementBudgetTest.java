@@ -0,0 +1,208 @@
+package ru.practicum.shareit.sql;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import ru.practicum.shareit.SqlStatementCounter;
+import ru.practicum.shareit.TestData;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlStatementBudgetTest.OverBudgetController.class)
+class SqlStatementBudgetTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private SqlStatementProperties properties;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private Cache<Long, User> userCache;
+
+    private TestData testData;
+    private SqlStatementCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        testData = new TestData(userRepository, itemRepository, bookingRepository, commentRepository);
+        counter = new SqlStatementCounter(entityManagerFactory, userCache);
+    }
+
+    @Test
+    void everyBudgetedEndpointStaysWithinBudget() throws Exception {
+        assertThat(properties.isStrictBudget()).isTrue();
+        User owner = testData.user();
+        User booker = testData.user();
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(booker)
+                .created(LocalDateTime.now())
+                .build());
+        Item item = testData.item(owner, request);
+        testData.item(owner);
+        LocalDateTime now = LocalDateTime.now();
+        Booking past = testData.booking(item, booker, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        testData.booking(item, booker, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        testData.comment(item, booker);
+        String marker = UUID.randomUUID().toString();
+        itemSearchIndex.index(itemRepository.save(
+                Item.builder().name(marker).description("Drill").available(true).owner(owner).build()));
+
+        List<RequestBuilder> requests = List.of(
+                get("/items").header(USER_HEADER, owner.getId()),
+                get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId()),
+                get("/items/{itemId}", item.getId()).header(USER_HEADER, booker.getId()),
+                get("/items/search").param("text", marker),
+                get("/requests").header(USER_HEADER, booker.getId()),
+                get("/requests/all").header(USER_HEADER, owner.getId()),
+                get("/requests/{requestId}", request.getId()).header(USER_HEADER, owner.getId()),
+                get("/bookings/{bookingId}", past.getId()).header(USER_HEADER, booker.getId()),
+                get("/bookings").header(USER_HEADER, booker.getId()),
+                get("/bookings").param("cursor", "").header(USER_HEADER, booker.getId()),
+                get("/bookings/owner").header(USER_HEADER, owner.getId()),
+                get("/bookings/owner").param("cursor", "").header(USER_HEADER, owner.getId()),
+                get("/bookings/export").header(USER_HEADER, booker.getId()),
+                get("/bookings/owner/export").header(USER_HEADER, owner.getId()));
+
+        Set<Method> exercised = new HashSet<>();
+        List<String> violations = new ArrayList<>();
+        for (RequestBuilder requestBuilder : requests) {
+            MvcResult result = performCold(requestBuilder);
+            HandlerMethod handler = (HandlerMethod) result.getHandler();
+            SqlStatementBudget budget = handler.getMethodAnnotation(SqlStatementBudget.class);
+            SqlStatementStatistics statistics = statistics(result);
+            exercised.add(handler.getMethod());
+            if (result.getResponse().getStatus() != 200 || statistics.getExecutionCount() > budget.value()) {
+                violations.add(String.format("%s %s returned %d after %d SQL statements, budget is %d",
+                        result.getRequest().getMethod(), result.getRequest().getRequestURI(),
+                        result.getResponse().getStatus(), statistics.getExecutionCount(), budget.value()));
+            }
+        }
+
+        assertThat(violations).isEmpty();
+        assertThat(exercised).containsExactlyInAnyOrderElementsOf(budgetedHandlers());
+    }
+
+    @Test
+    void exceededBudgetFailsRequestAfterHandlerHasRun() throws Exception {
+        String email = UUID.randomUUID() + "@mail.ru";
+
+        MvcResult result = performCold(post("/over-budget/users").param("email", email));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(500);
+        assertThat(statistics(result).getExecutionCount()).isGreaterThan(0);
+        assertThat(userRepository.findAll())
+                .extracting(User::getEmail)
+                .contains(email);
+    }
+
+    @Test
+    void exceededBudgetOnlyLogsOnceResponseIsCommitted() throws Exception {
+        testData.user();
+
+        MvcResult result = performCold(get("/over-budget/users/export"));
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getContentAsString()).isEqualTo("exported\n");
+        assertThat(statistics(result).getExecutionCount()).isGreaterThan(0);
+    }
+
+    private MvcResult performCold(RequestBuilder requestBuilder) throws Exception {
+        MvcResult[] result = new MvcResult[1];
+        counter.countColdStatements(() -> result[0] = mockMvc.perform(requestBuilder).andReturn());
+        return result[0];
+    }
+
+    private static SqlStatementStatistics statistics(MvcResult result) {
+        return (SqlStatementStatistics) result.getRequest().getAttribute(SqlStatementStatistics.class.getName());
+    }
+
+    private Set<Method> budgetedHandlers() {
+        return handlerMapping.getHandlerMethods().values().stream()
+                .filter(handler -> handler.hasMethodAnnotation(SqlStatementBudget.class))
+                .filter(handler -> handler.getBeanType() != OverBudgetController.class)
+                .map(HandlerMethod::getMethod)
+                .collect(Collectors.toSet());
+    }
+
+    @RestController
+    static class OverBudgetController {
+        private final UserRepository userRepository;
+
+        OverBudgetController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @PostMapping("/over-budget/users")
+        @SqlStatementBudget(0)
+        public void saveUser(@RequestParam String email) {
+            userRepository.save(User.builder().name("Over budget").email(email).build());
+        }
+
+        @GetMapping("/over-budget/users/export")
+        @SqlStatementBudget(0)
+        public void exportUsers(HttpServletResponse response) throws IOException {
+            response.getOutputStream().write("exported\n".getBytes());
+            response.flushBuffer();
+            userRepository.findAll();
+        }
+    }
+}
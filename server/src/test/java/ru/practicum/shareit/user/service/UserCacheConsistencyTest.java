@@ -0,0 +1,65 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserCacheConsistencyTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void failedUpdateDoesNotReachUserCache() throws Exception {
+        User user = saveUser();
+        User other = saveUser();
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk());
+
+        assertThatThrownBy(() -> mockMvc.perform(patch("/users/{userId}", user.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + other.getEmail() + "\"}")))
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(user.getEmail()));
+    }
+
+    @Test
+    void committedUpdateIsServedFromUserCache() throws Exception {
+        User user = saveUser();
+        String email = UUID.randomUUID() + "@example.com";
+
+        mockMvc.perform(patch("/users/{userId}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/users/{userId}", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value(email));
+    }
+
+    private User saveUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(User.builder().name(name).email(name + "@example.com").build());
+    }
+}